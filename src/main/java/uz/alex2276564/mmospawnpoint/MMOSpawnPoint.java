@@ -12,7 +12,12 @@ import uz.alex2276564.mmospawnpoint.listener.*;
 import uz.alex2276564.mmospawnpoint.manager.SpawnEntry;
 import uz.alex2276564.mmospawnpoint.manager.SpawnManager;
 import uz.alex2276564.mmospawnpoint.party.PartyManager;
+import uz.alex2276564.mmospawnpoint.utils.HeightmapCache;
 import uz.alex2276564.mmospawnpoint.utils.HttpUtils;
+import uz.alex2276564.mmospawnpoint.utils.PlaceholderUtils;
+import uz.alex2276564.mmospawnpoint.utils.PlaceholderValueCache;
+import uz.alex2276564.mmospawnpoint.utils.RegionLookupCache;
+import uz.alex2276564.mmospawnpoint.utils.SafeLocationCacheStore;
 import uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder;
 import uz.alex2276564.mmospawnpoint.utils.UpdateChecker;
 import uz.alex2276564.mmospawnpoint.utils.adventure.AdventureMessageManager;
@@ -49,6 +54,9 @@ public final class MMOSpawnPoint extends JavaPlugin {
     @Getter
     private PartyManager partyManager;
 
+    @Getter
+    private SafeLocationCacheStore safeLocationCacheStore;
+
     @Getter
     private boolean worldGuardEnabled;
 
@@ -74,6 +82,7 @@ public final class MMOSpawnPoint extends JavaPlugin {
             checkDependencies();
             setupBackupManager();
             setupManagers();
+            setupCacheStore();
             registerListeners();
             registerCommands();
             checkUpdates();
@@ -232,6 +241,11 @@ public final class MMOSpawnPoint extends JavaPlugin {
         runner.runAsyncTimer(() -> backupManager.checkAndBackupAsync(), dailyTicks, dailyTicks);
     }
 
+    private void setupCacheStore() {
+        safeLocationCacheStore = new SafeLocationCacheStore(this);
+        safeLocationCacheStore.restart();
+    }
+
     private void setupManagers() {
         spawnManager = new SpawnManager(this);
 
@@ -249,6 +263,8 @@ public final class MMOSpawnPoint extends JavaPlugin {
         pm.registerEvents(new PlayerJoinListener(this), this);
         pm.registerEvents(new PlayerQuitListener(this), this);
         pm.registerEvents(new PlayerWorldChangeListener(this), this);
+        pm.registerEvents(new BlockChangeListener(this), this);
+        pm.registerEvents(new WorldLoadListener(this), this);
 
         if (configManager.getMainConfig().join.waitForResourcePack) {
             resourcePackListener = new PlayerResourcePackListener(this);
@@ -286,9 +302,17 @@ public final class MMOSpawnPoint extends JavaPlugin {
             resourcePackListener.cleanup();
         }
 
+        if (safeLocationCacheStore != null) {
+            safeLocationCacheStore.shutdown();
+        }
+
         SafeLocationFinder.cleanup();
         SafeLocationFinder.clearCache();
+        RegionLookupCache.clear();
+        HeightmapCache.clear();
+        PlaceholderValueCache.clear();
         SpawnEntry.clearPatternCache();
+        PlaceholderUtils.clearExpressionCache();
         SimulateContext.clearPREV();
 
         if (runner != null) {
@@ -7,6 +7,9 @@ import uz.alex2276564.mmospawnpoint.commands.framework.builder.ArgumentBuilder;
 import uz.alex2276564.mmospawnpoint.commands.framework.builder.ArgumentType;
 import uz.alex2276564.mmospawnpoint.commands.framework.builder.NestedSubCommandProvider;
 import uz.alex2276564.mmospawnpoint.commands.framework.builder.SubCommandBuilder;
+import uz.alex2276564.mmospawnpoint.utils.HeightmapCache;
+import uz.alex2276564.mmospawnpoint.utils.PlaceholderValueCache;
+import uz.alex2276564.mmospawnpoint.utils.RegionLookupCache;
 import uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder;
 
 public class CacheClearSubCommand implements NestedSubCommandProvider {
@@ -30,9 +33,13 @@ public class CacheClearSubCommand implements NestedSubCommandProvider {
                     Player p = ctx.getArgument("player");
                     if (p == null) {
                         SafeLocationFinder.clearCache();
+                        RegionLookupCache.clear();
+                        HeightmapCache.clear();
+                        PlaceholderValueCache.clear();
                         plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.clearedAll", msg.clearedAll);
                     } else {
                         SafeLocationFinder.clearPlayerCache(p.getUniqueId());
+                        PlaceholderValueCache.clearPlayer(p.getUniqueId());
                         plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.clearedPlayer", msg.clearedPlayer, "player", p.getName());
                     }
                 });
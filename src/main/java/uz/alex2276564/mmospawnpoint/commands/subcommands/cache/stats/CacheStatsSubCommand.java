@@ -3,6 +3,9 @@ package uz.alex2276564.mmospawnpoint.commands.subcommands.cache.stats;
 import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
 import uz.alex2276564.mmospawnpoint.commands.framework.builder.NestedSubCommandProvider;
 import uz.alex2276564.mmospawnpoint.commands.framework.builder.SubCommandBuilder;
+import uz.alex2276564.mmospawnpoint.utils.HeightmapCache;
+import uz.alex2276564.mmospawnpoint.utils.PlaceholderValueCache;
+import uz.alex2276564.mmospawnpoint.utils.RegionLookupCache;
 import uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder;
 
 public class CacheStatsSubCommand implements NestedSubCommandProvider {
@@ -27,8 +30,102 @@ public class CacheStatsSubCommand implements NestedSubCommandProvider {
                             .replace("<size>", String.valueOf(snap.size()))
                             .replace("<enabled>", String.valueOf(snap.enabled()))
                             .replace("<expiry>", String.valueOf(snap.expirySeconds()))
-                            .replace("<max>", String.valueOf(snap.maxSize()));
+                            .replace("<max>", String.valueOf(snap.maxSize()))
+                            .replace("<invalidated>", String.valueOf(snap.blockInvalidations()));
                     plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.statsLine", line);
+
+                    for (var type : snap.types()) {
+                        String typeLine = msg.typeStatsLine
+                                .replace("<type>", type.tag())
+                                .replace("<hits>", String.valueOf(type.hits()))
+                                .replace("<misses>", String.valueOf(type.misses()))
+                                .replace("<hitRate>", String.format("%.1f", type.hitRatePercent()))
+                                .replace("<evictions>", String.valueOf(type.evictions()))
+                                .replace("<size>", String.valueOf(type.size()))
+                                .replace("<max>", String.valueOf(type.maxSize()))
+                                .replace("<expiry>", String.valueOf(type.expirySeconds()))
+                                .replace("<avgLoad>", String.format("%.2f", type.avgLoadMillis()));
+                        plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.typeStatsLine", typeLine);
+                    }
+
+                    var regions = RegionLookupCache.snapshot();
+                    long lookups = regions.hits() + regions.misses();
+                    double regionRate = lookups > 0 ? (regions.hits() * 100.0) / lookups : 0.0;
+
+                    String regionLine = msg.regionStatsLine
+                            .replace("<hits>", String.valueOf(regions.hits()))
+                            .replace("<misses>", String.valueOf(regions.misses()))
+                            .replace("<hitRate>", String.format("%.1f", regionRate))
+                            .replace("<size>", String.valueOf(regions.size()))
+                            .replace("<enabled>", String.valueOf(regions.enabled()))
+                            .replace("<expiry>", String.valueOf(regions.expiryMillis()))
+                            .replace("<max>", String.valueOf(regions.maxSize()));
+                    plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.regionStatsLine", regionLine);
+
+                    var heightmaps = HeightmapCache.snapshot();
+                    long columnLookups = heightmaps.hits() + heightmaps.misses();
+                    double heightmapRate = columnLookups > 0 ? (heightmaps.hits() * 100.0) / columnLookups : 0.0;
+
+                    String heightmapLine = msg.heightmapStatsLine
+                            .replace("<hits>", String.valueOf(heightmaps.hits()))
+                            .replace("<misses>", String.valueOf(heightmaps.misses()))
+                            .replace("<hitRate>", String.format("%.1f", heightmapRate))
+                            .replace("<invalidated>", String.valueOf(heightmaps.invalidations()))
+                            .replace("<chunks>", String.valueOf(heightmaps.chunks()))
+                            .replace("<enabled>", String.valueOf(heightmaps.enabled()))
+                            .replace("<expiry>", String.valueOf(heightmaps.expiryMillis() / 1000L))
+                            .replace("<max>", String.valueOf(heightmaps.maxChunks()));
+                    plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.heightmapStatsLine", heightmapLine);
+
+                    var placeholders = PlaceholderValueCache.snapshot();
+                    long valueLookups = placeholders.hits() + placeholders.misses();
+                    double placeholderRate = valueLookups > 0 ? (placeholders.hits() * 100.0) / valueLookups : 0.0;
+
+                    String placeholderLine = msg.placeholderStatsLine
+                            .replace("<hits>", String.valueOf(placeholders.hits()))
+                            .replace("<misses>", String.valueOf(placeholders.misses()))
+                            .replace("<hitRate>", String.format("%.1f", placeholderRate))
+                            .replace("<size>", String.valueOf(placeholders.size()))
+                            .replace("<placeholders>", String.valueOf(placeholders.placeholders()))
+                            .replace("<enabled>", String.valueOf(placeholders.enabled()))
+                            .replace("<max>", String.valueOf(placeholders.maxSize()));
+                    plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.placeholderStatsLine", placeholderLine);
+
+                    var poolCfg = plugin.getConfigManager().getMainConfig().settings.safeSpotPool;
+                    var pools = plugin.getSpawnManager().getSafeSpotPool().snapshot(poolCfg.size);
+
+                    String poolLine = msg.poolStatsLine
+                            .replace("<pools>", String.valueOf(pools.pools()))
+                            .replace("<spots>", String.valueOf(pools.spots()))
+                            .replace("<capacity>", String.valueOf(pools.capacity()))
+                            .replace("<hits>", String.valueOf(pools.hits()))
+                            .replace("<misses>", String.valueOf(pools.misses()))
+                            .replace("<refilled>", String.valueOf(pools.refilled()))
+                            .replace("<perMinute>", String.format("%.1f", pools.refilledPerMinute()))
+                            .replace("<enabled>", String.valueOf(poolCfg.enabled));
+                    plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.poolStatsLine", poolLine);
+
+                    var search = plugin.getSpawnManager().getSafeSearchScheduler().snapshot();
+
+                    String searchLine = msg.searchStatsLine
+                            .replace("<queued>", String.valueOf(search.queued()))
+                            .replace("<peak>", String.valueOf(search.peakQueued()))
+                            .replace("<served>", String.valueOf(search.served()))
+                            .replace("<starved>", String.valueOf(search.starved()))
+                            .replace("<utilization>", String.format("%.1f", search.utilizationPercent()))
+                            .replace("<exhausted>", String.valueOf(search.exhaustedTicks()));
+                    plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.searchStatsLine", searchLine);
+
+                    var chunks = plugin.getSpawnManager().getChunkLoads().snapshot();
+
+                    String chunkLine = msg.chunkStatsLine
+                            .replace("<inFlight>", String.valueOf(chunks.inFlight()))
+                            .replace("<waiting>", String.valueOf(chunks.waiting()))
+                            .replace("<held>", String.valueOf(chunks.held()))
+                            .replace("<started>", String.valueOf(chunks.loadsStarted()))
+                            .replace("<shared>", String.valueOf(chunks.deduplicated()))
+                            .replace("<failed>", String.valueOf(chunks.failed()));
+                    plugin.getMessageManager().sendMessageKeyed(sender, "commands.cache.chunkStatsLine", chunkLine);
                 });
     }
 }
\ No newline at end of file
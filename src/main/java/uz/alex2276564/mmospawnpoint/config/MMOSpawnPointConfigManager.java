@@ -14,6 +14,12 @@ import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.AxisSpecSer
 import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
 import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfigValidator;
 import uz.alex2276564.mmospawnpoint.manager.SpawnEntry;
+import uz.alex2276564.mmospawnpoint.manager.SpawnEntryIndex;
+import uz.alex2276564.mmospawnpoint.manager.SpawnEventType;
+import uz.alex2276564.mmospawnpoint.utils.HeightmapCache;
+import uz.alex2276564.mmospawnpoint.utils.PlaceholderUtils;
+import uz.alex2276564.mmospawnpoint.utils.PlaceholderValueCache;
+import uz.alex2276564.mmospawnpoint.utils.RegionLookupCache;
 import uz.alex2276564.mmospawnpoint.utils.ResourceUtils;
 import uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder;
 
@@ -37,6 +43,9 @@ public class MMOSpawnPointConfigManager {
     @Getter
     private List<SpawnEntry> allSpawnEntries;
 
+    // Compiled matching index over allSpawnEntries (rebuilt on every reload)
+    private SpawnEntryIndex spawnEntryIndex = SpawnEntryIndex.empty();
+
     public MMOSpawnPointConfigManager(MMOSpawnPoint plugin) {
         this.plugin = plugin;
         this.allSpawnEntries = new ArrayList<>();
@@ -44,6 +53,11 @@ public class MMOSpawnPointConfigManager {
 
     public void reload() {
         try {
+            // Persist the warm cache before applyCacheSettings clears it
+            if (plugin.getSafeLocationCacheStore() != null) {
+                plugin.getSafeLocationCacheStore().flushBeforeReload();
+            }
+
             loadMainConfig();
             loadMessagesConfig();
             loadSpawnPointConfigs();
@@ -51,6 +65,14 @@ public class MMOSpawnPointConfigManager {
             // Apply runtime settings
             applyCacheSettings();
 
+            // Destinations were re-created: drop pooled spots and restart refill with new settings
+            if (plugin.getSpawnManager() != null) {
+                plugin.getSpawnManager().onConfigReload();
+            }
+            if (plugin.getSafeLocationCacheStore() != null) {
+                plugin.getSafeLocationCacheStore().restart();
+            }
+
             plugin.getLogger().info("Configuration system reloaded successfully!");
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to reload configuration", e);
@@ -147,6 +169,7 @@ public class MMOSpawnPointConfigManager {
         allSpawnEntries.clear();
 
         SpawnEntry.clearPatternCache();
+        PlaceholderUtils.clearExpressionCache();
 
         File spawnPointsDir = new File(plugin.getDataFolder(), "spawnpoints");
 
@@ -163,6 +186,9 @@ public class MMOSpawnPointConfigManager {
         // Sort by priority (descending)
         allSpawnEntries.sort((a, b) -> Integer.compare(b.calculatedPriority(), a.calculatedPriority()));
 
+        // Compile matching index (keeps priority order inside every bucket)
+        spawnEntryIndex = SpawnEntryIndex.build(allSpawnEntries);
+
         plugin.getLogger().info("Loaded " + allSpawnEntries.size() + " spawn configuration entries");
 
         if (mainConfig.settings.debugMode) {
@@ -331,9 +357,28 @@ public class MMOSpawnPointConfigManager {
                 cacheConfig.enabled,
                 cacheConfig.expiryTime * 1000L,
                 cacheConfig.maxCacheSize,
-                cacheConfig.advanced.debugCache
+                cacheConfig.locationsPerKey,
+                cacheConfig.advanced.debugCache,
+                cacheConfig.advanced.invalidateOnBlockChange,
+                List.of(
+                        typeCacheSettings("POINT_SAFE", cacheConfig.spawnTypeCaching.pointSafe, cacheConfig),
+                        typeCacheSettings("AREA_SAFE_SINGLE", cacheConfig.spawnTypeCaching.areaSafeSingle, cacheConfig),
+                        typeCacheSettings("AREA_SAFE_MULTIPLE", cacheConfig.spawnTypeCaching.areaSafeMultiple, cacheConfig)
+                )
         );
 
+        // Region lookups (rebuilt on reload, so region data is always re-queried)
+        var regionCache = cfg.regionLookupCache;
+        RegionLookupCache.configure(regionCache.enabled, regionCache.expiryMillis, regionCache.maxSize);
+
+        // Heightmap tops per chunk column (rebuilt on reload)
+        var heightmapCache = cfg.heightmapCache;
+        HeightmapCache.configure(heightmapCache.enabled, heightmapCache.expirySeconds * 1000L, heightmapCache.maxChunks);
+
+        // Opt-in placeholder values (rebuilt on reload, so TTL changes apply immediately)
+        var placeholderCache = cfg.placeholderCache;
+        PlaceholderValueCache.configure(placeholderCache.enabled, placeholderCache.maxSize, placeholderCache.ttlSeconds);
+
         // Global block rules
         SafeLocationFinder.configureGlobalGroundBlacklist(cfg.globalGroundBlacklist);
         SafeLocationFinder.configureGlobalPassableBlacklist(cfg.globalPassableBlacklist);
@@ -376,16 +421,18 @@ public class MMOSpawnPointConfigManager {
         }
     }
 
-    public List<SpawnEntry> getSpawnEntriesForEvent(String eventType) {
-        return allSpawnEntries.stream()
-                .filter(entry -> entry.isForEventType(eventType))
-                .toList();
+    private static SafeLocationFinder.TypeCacheSettings typeCacheSettings(String tag, MainConfig.CacheTypeSection type,
+                                                                          MainConfig.SafeLocationCacheSection global) {
+        int expirySeconds = (type.expirySeconds > 0) ? type.expirySeconds : global.expiryTime;
+        int maxSize = (type.maxSize > 0) ? type.maxSize : global.maxCacheSize;
+        return new SafeLocationFinder.TypeCacheSettings(tag, expirySeconds * 1000L, maxSize);
     }
 
-    public List<SpawnEntry> getMatchingSpawnEntries(String eventType, Location location) {
-        return allSpawnEntries.stream()
-                .filter(entry -> entry.isForEventType(eventType))
-                .filter(entry -> entry.matchesLocation(location))
-                .toList();
+    /**
+     * Matching entries for the event at the location, in priority order.
+     * Only candidates from the compiled index (event + world + grid cell) are tested.
+     */
+    public List<SpawnEntry> getMatchingSpawnEntries(SpawnEventType eventType, Location location) {
+        return spawnEntryIndex.match(eventType, location);
     }
 }
\ No newline at end of file
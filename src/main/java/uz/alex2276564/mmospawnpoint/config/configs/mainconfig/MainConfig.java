@@ -5,6 +5,7 @@ import eu.okaeri.configs.annotation.Comment;
 import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
 
 import java.util.List;
+import java.util.Map;
 
 public class MainConfig extends OkaeriConfig {
 
@@ -120,6 +121,33 @@ public class MainConfig extends OkaeriConfig {
         @Comment("# ----------------------------------------------------------------")
         public SafeLocationCacheSection safeLocationCache = new SafeLocationCacheSection();
 
+        @Comment("")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# 🏛️ REGION LOOKUP CACHING")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# Caches WorldGuard region ids per block position")
+        @Comment("# Used by region spawn rules and party region targeting")
+        @Comment("# ----------------------------------------------------------------")
+        public RegionLookupCacheSection regionLookupCache = new RegionLookupCacheSection();
+
+        @Comment("")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# ⛰️ HEIGHTMAP CACHING")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# Caches the highest block Y per chunk column for safe search")
+        @Comment("# Used by 'highest' Y selection, point searches and column scans")
+        @Comment("# ----------------------------------------------------------------")
+        public HeightmapCacheSection heightmapCache = new HeightmapCacheSection();
+
+        @Comment("")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# 🏷️ PLACEHOLDER VALUE CACHING")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# Reuses resolved placeholder values in spawn conditions for a short time")
+        @Comment("# Only placeholders listed in ttlSeconds are cached; all others are always resolved live")
+        @Comment("# ----------------------------------------------------------------")
+        public PlaceholderCacheSection placeholderCache = new PlaceholderCacheSection();
+
         @Comment("")
         @Comment("# ----------------------------------------------------------------")
         @Comment("# 🌍 TELEPORTATION SYSTEM")
@@ -137,6 +165,24 @@ public class MainConfig extends OkaeriConfig {
         @Comment("# ----------------------------------------------------------------")
         public WaitingRoomSection waitingRoom = new WaitingRoomSection();
 
+        @Comment("")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# 🎒 SAFE SPOT POOL")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# Pre-validated safe locations per requireSafe area destination")
+        @Comment("# A pooled spot is re-checked and used directly - no waiting room needed")
+        @Comment("# ----------------------------------------------------------------")
+        public SafeSpotPoolSection safeSpotPool = new SafeSpotPoolSection();
+
+        @Comment("")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# 🔥 CHUNK PRE-WARM")
+        @Comment("# ----------------------------------------------------------------")
+        @Comment("# Load destination and waiting room chunks after startup and /msp reload,")
+        @Comment("# so the first players respawning there do not wait for chunk loading/generation")
+        @Comment("# ----------------------------------------------------------------")
+        public PrewarmSection prewarm = new PrewarmSection();
+
         @Comment("")
         @Comment("# ----------------------------------------------------------------")
         @Comment("# 🐛 DEBUG & DEVELOPMENT")
@@ -229,9 +275,11 @@ public class MainConfig extends OkaeriConfig {
         @Comment("Paper:")
         @Comment("  • MSP will try up to attemptsPerTick safe probes per tick,")
         @Comment("    but will also respect timeBudgetMillis as a soft time limit.")
+        @Comment("  • The budget is shared fairly between waiting players; players that waited longest")
+        @Comment("    and were served least recently go first.")
         @Comment("Folia:")
-        @Comment("  • Each SafeSearchJob does exactly one attempt per tick on its region thread;")
-        @Comment("    attemptsPerTick is mostly a global upper bound and rarely needs tuning.")
+        @Comment("  • Each SafeSearchJob does at most one attempt per tick on its region thread;")
+        @Comment("    attemptsPerTick caps how many attempts are dispatched per tick across all players.")
         public int attemptsPerTick = 200;
 
         @Comment("")
@@ -247,6 +295,36 @@ public class MainConfig extends OkaeriConfig {
         @Comment("Folia:")
         @Comment("  • This setting is effectively ignored; each region job is naturally 1 attempt per tick.")
         public int timeBudgetMillis = 2;
+
+        @Comment("")
+        @Comment("🧵 Parallel region attempts per player (Folia only, area destinations).")
+        @Comment("Each tick a waiting player may have up to this many candidate chunks searched at once,")
+        @Comment("each on the region thread that owns it. The first safe spot found wins; the other")
+        @Comment("attempts are skipped if they have not started yet, and their results are discarded otherwise.")
+        @Comment("  • 1 = one attempt at a time (classic behavior)")
+        @Comment("  • Higher values find spots faster on large areas spread over many regions,")
+        @Comment("    at the cost of more (possibly wasted) work and chunk loads per player.")
+        @Comment("Dispatches still count towards attemptsPerTick. Paper ignores this setting.")
+        public int foliaParallelAttempts = 1;
+
+        @Comment("")
+        @Comment("📦 Maximum chunk loads safe search may have in flight at once (all players together).")
+        @Comment("Requests beyond this wait in line; two players needing the same chunk share one load.")
+        @Comment("Chunks loaded for a search stay loaded (plugin chunk ticket) until that search ends.")
+        @Comment("Lower = gentler on disk/worldgen; Higher = faster searches in unexplored areas.")
+        public int maxConcurrentChunkLoads = 8;
+
+        @Comment("")
+        @Comment("📸 Chunk snapshot search for area destinations (x/z ranges or rects).")
+        @Comment("When enabled, each attempt takes a snapshot of one candidate chunk on the owning thread,")
+        @Comment("evaluates it on an async worker, and only re-checks the chosen spot live before teleporting.")
+        @Comment("This moves most block reads off the main/region thread.")
+        @Comment("Notes:")
+        @Comment("  • Y is picked by a column scan (surface down; Nether: middle of the range down, then up),")
+        @Comment("    so ySelection modes are not applied in this mode.")
+        @Comment("  • The safe-location cache is not used in this mode.")
+        @Comment("  • Fixed-point destinations always use the regular search.")
+        public boolean chunkSnapshotSearch = false;
     }
 
     public static class SafeLocationCacheSection extends OkaeriConfig {
@@ -268,8 +346,16 @@ public class MainConfig extends OkaeriConfig {
         @Comment("📊 Maximum cached locations before cleanup")
         @Comment("Prevents memory growth on busy servers.")
         @Comment("Higher = better hit rate but more memory usage.")
+        @Comment("Applies to each spawn type cache separately unless spawnTypeCaching.<type>.maxSize is set.")
         public int maxCacheSize = 1000;
 
+        @Comment("")
+        @Comment("🎲 Distinct safe locations kept per cache entry")
+        @Comment("Cached spots are handed out round-robin, so players hitting the same entry do not all land on one block.")
+        @Comment("A spot that turns unsafe is dropped on its own; the rest of the entry stays cached.")
+        @Comment("1 = old behavior (one location per entry). Memory grows with maxCacheSize * locationsPerKey.")
+        public int locationsPerKey = 4;
+
         @Comment("")
         @Comment("# Per-spawn-type caching profiles")
         @Comment("# Each type has different access patterns and performance needs.")
@@ -277,6 +363,7 @@ public class MainConfig extends OkaeriConfig {
         @Comment("# - spawnTypeCaching.* controls defaults per type (pointSafe/areaSafeSingle/areaSafeMultiple).")
         @Comment("# - destinations[].cache (per-destination) can override 'enabled' and 'playerSpecific' for that destination only.")
         @Comment("# - However, the global 'safeLocationCache.enabled=false' still disables ALL caching (per-destination cannot force-enable it).")
+        @Comment("# - Each type has its own cache instance (maxSize/expirySeconds), so one type cannot evict another's entries.")
         public SpawnTypeCachingSection spawnTypeCaching = new SpawnTypeCachingSection();
 
         @Comment("")
@@ -284,6 +371,122 @@ public class MainConfig extends OkaeriConfig {
         @Comment("Cache keys include the effective Y-selection signature and groundWhitelist hash.")
         @Comment("This prevents incorrect reuse between different spawn configurations.")
         public AdvancedCacheSection advanced = new AdvancedCacheSection();
+
+        @Comment("")
+        @Comment("💽 Keep the cache across restarts (plugins/MMOSpawnPoint/cache)")
+        public PersistenceSection persistence = new PersistenceSection();
+    }
+
+    public static class PersistenceSection extends OkaeriConfig {
+        @Comment("💾 Save cached safe locations to disk and restore them on startup")
+        @Comment("Avoids the slow first wave of respawns after a restart.")
+        @Comment("Restored locations are fully re-checked the first time they are used.")
+        @Comment("A world's file is discarded when its seed or world border changed, or when it is older than expiryTime.")
+        public boolean enabled = false;
+
+        @Comment("")
+        @Comment("🔁 How often the cache is written to disk, in seconds (also written on shutdown)")
+        public int flushIntervalSeconds = 120;
+    }
+
+    public static class RegionLookupCacheSection extends OkaeriConfig {
+        @Comment("💾 Enable region lookup caching")
+        @Comment("Region changes (add/remove/redefine, flags, priorities, WorldGuard reload) are not tracked;")
+        @Comment("a cached lookup is reused until it expires.")
+        public boolean enabled = true;
+
+        @Comment("")
+        @Comment("⏰ Cache expiry time in milliseconds")
+        @Comment("The only bound on how long a region change may go unnoticed. Keep it short.")
+        public int expiryMillis = 1000;
+
+        @Comment("")
+        @Comment("📊 Maximum cached block positions")
+        public int maxSize = 5000;
+    }
+
+    public static class HeightmapCacheSection extends OkaeriConfig {
+        @Comment("💾 Enable heightmap caching")
+        @Comment("Columns are reset on block place/break/explode/fluid/piston changes and on chunk unload.")
+        @Comment("Candidates are always re-checked against the live blocks, so a stale column only costs an attempt.")
+        public boolean enabled = true;
+
+        @Comment("")
+        @Comment("⏰ Cache expiry time in seconds")
+        @Comment("Bounds how long changes made without block events (e.g. by other plugins) may go unnoticed.")
+        public int expirySeconds = 30;
+
+        @Comment("")
+        @Comment("📊 Maximum cached chunks (about 1 KB each)")
+        public int maxChunks = 2048;
+    }
+
+    public static class PlaceholderCacheSection extends OkaeriConfig {
+        @Comment("💾 Enable placeholder value caching")
+        @Comment("Values are cached per player and dropped when the player quits or on /msp reload.")
+        @Comment("Only list placeholders that change rarely (level, rank, faction) - a cached value may be")
+        @Comment("up to its TTL old when a condition, weight or chance is evaluated.")
+        public boolean enabled = false;
+
+        @Comment("")
+        @Comment("⏰ Seconds a resolved value may be reused, per placeholder (exact text as written in conditions)")
+        @Comment("Example:")
+        @Comment("  ttlSeconds:")
+        @Comment("    '%player_level%': 10")
+        @Comment("    '%luckperms_primary_group_name%': 30")
+        public Map<String, Integer> ttlSeconds = Map.of(
+                "%player_level%", 10,
+                "%luckperms_primary_group_name%", 30
+        );
+
+        @Comment("")
+        @Comment("📊 Maximum cached values (players × placeholders)")
+        public int maxSize = 10000;
+    }
+
+    public static class SafeSpotPoolSection extends OkaeriConfig {
+        @Comment("🎒 Enable safe spot pools")
+        @Comment("A pool is created the first time a requireSafe area destination (x/z ranges or rects) is used,")
+        @Comment("then refilled in the background. Pools are cleared on /msp reload.")
+        @Comment("Paper: a pooled spot skips the waiting room entirely.")
+        @Comment("Folia: the player still passes the waiting room (region ownership), but the search ends on the first tick.")
+        @Comment("Best for hot destinations (arenas, hubs) used by many players per minute.")
+        public boolean enabled = false;
+
+        @Comment("")
+        @Comment("📦 Target number of spots kept per destination")
+        public int size = 16;
+
+        @Comment("")
+        @Comment("🔁 Refill period in ticks (20 ticks = 1 second)")
+        public int refillIntervalTicks = 10;
+
+        @Comment("")
+        @Comment("⚡ Maximum refill attempts per period across all pools")
+        @Comment("Each attempt scans one already-loaded chunk; unloaded chunks are skipped, never loaded.")
+        public int refillAttemptsPerRun = 4;
+    }
+
+    public static class PrewarmSection extends OkaeriConfig {
+        @Comment("🔥 Enable chunk pre-warm")
+        @Comment("Walks all destinations and waiting rooms and loads (or generates) their chunks asynchronously.")
+        @Comment("Progress and timing are reported in the console.")
+        public boolean enabled = false;
+
+        @Comment("")
+        @Comment("⚡ Maximum pre-warm chunk loads in flight at once")
+        @Comment("Keep this below safeSearchBatch.maxConcurrentChunkLoads so live safe searches are not delayed.")
+        public int chunksInFlight = 2;
+
+        @Comment("")
+        @Comment("📦 Maximum chunks per area destination")
+        @Comment("Areas covering more chunks are sampled randomly (weighted by area) up to this many.")
+        public int maxChunksPerDestination = 64;
+
+        @Comment("")
+        @Comment("📌 Keep pre-warmed chunks loaded (plugin chunk ticket) until the next reload/shutdown")
+        @Comment("⚠️ Uses memory for every kept chunk - enable only for a moderate number of chunks")
+        public boolean keepLoaded = false;
     }
 
     public static class SpawnTypeCachingSection extends OkaeriConfig {
@@ -319,6 +522,12 @@ public class MainConfig extends OkaeriConfig {
         @Comment("- destinations[].cache.playerSpecific can override this per-destination.")
         public boolean playerSpecific;
 
+        @Comment("Maximum cache entries of this type (0 = safeLocationCache.maxCacheSize).")
+        public int maxSize = 0;
+
+        @Comment("Expiry of this type's entries in seconds (0 = safeLocationCache.expiryTime).")
+        public int expirySeconds = 0;
+
         @SuppressWarnings("unused")
         public CacheTypeSection() {
         }
@@ -345,6 +554,13 @@ public class MainConfig extends OkaeriConfig {
         @Comment("Saves memory at the cost of losing cache benefit if they rejoin soon.")
         public boolean clearPlayerCacheOnQuit = false;
 
+        @Comment("")
+        @Comment("🧱 Drop cached spots as soon as their ground, feet or head block changes")
+        @Comment("Tracks block place/break/explode/fluid/piston events per chunk, so only the affected spots are dropped.")
+        @Comment("Best effort: this only frees cache slots earlier. Every cache hit is still re-checked against")
+        @Comment("the live blocks, so changes without block events (WorldEdit, /fill) never lead to an unsafe spot.")
+        public boolean invalidateOnBlockChange = true;
+
         @Comment("")
         @Comment("🐛 Debug cache operations in console")
         @Comment("Shows cache hits/misses and performance metrics.")
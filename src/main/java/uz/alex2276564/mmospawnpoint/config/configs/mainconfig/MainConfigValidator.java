@@ -31,6 +31,11 @@ public class MainConfigValidator {
 
         // Validate cache settings
         validateCacheSection(result, settings.safeLocationCache);
+        validateRegionLookupCache(result, settings.regionLookupCache);
+
+        validateHeightmapCache(result, settings.heightmapCache);
+
+        validatePlaceholderCache(result, settings.placeholderCache);
 
         // Validate Global Passable Blacklist materials
         validateMaterialListOrFail(result, settings.globalPassableBlacklist, "settings.globalPassableBlacklist");
@@ -45,6 +50,10 @@ public class MainConfigValidator {
         // Validate waiting room settings
         validateWaitingRoomSection(result, settings.waitingRoom);
 
+        validateSafeSpotPool(result, settings.safeSpotPool);
+
+        validatePrewarm(result, settings.prewarm);
+
         // Validate Global Ground Blacklist materials
         validateMaterialListOrFail(result, settings.globalGroundBlacklist, "settings.globalGroundBlacklist");
     }
@@ -84,6 +93,63 @@ public class MainConfigValidator {
         Validators.min(result, "settings.safeLocationCache.maxCacheSize", cache.maxCacheSize, 10, "Max cache size must be at least 10");
         Validators.max(result, "settings.safeLocationCache.maxCacheSize", cache.maxCacheSize, 10000, "Max cache size cannot exceed 10000");
 
+        Validators.min(result, "settings.safeLocationCache.locationsPerKey", cache.locationsPerKey, 1, "locationsPerKey must be at least 1");
+        Validators.max(result, "settings.safeLocationCache.locationsPerKey", cache.locationsPerKey, 32, "locationsPerKey cannot exceed 32");
+
+        validateCacheType(result, "settings.safeLocationCache.spawnTypeCaching.pointSafe", cache.spawnTypeCaching.pointSafe);
+        validateCacheType(result, "settings.safeLocationCache.spawnTypeCaching.areaSafeSingle", cache.spawnTypeCaching.areaSafeSingle);
+        validateCacheType(result, "settings.safeLocationCache.spawnTypeCaching.areaSafeMultiple", cache.spawnTypeCaching.areaSafeMultiple);
+
+        Validators.min(result, "settings.safeLocationCache.persistence.flushIntervalSeconds", cache.persistence.flushIntervalSeconds, 10, "flushIntervalSeconds must be >= 10");
+        Validators.max(result, "settings.safeLocationCache.persistence.flushIntervalSeconds", cache.persistence.flushIntervalSeconds, 3600, "flushIntervalSeconds cannot exceed 3600");
+
+    }
+
+    // 0 means "use the global value"
+    private static void validateCacheType(ValidationResult result, String path, MainConfig.CacheTypeSection t) {
+        if (t.maxSize != 0) {
+            Validators.min(result, path + ".maxSize", t.maxSize, 10, "maxSize must be 0 or at least 10");
+            Validators.max(result, path + ".maxSize", t.maxSize, 10000, "maxSize cannot exceed 10000");
+        }
+        if (t.expirySeconds != 0) {
+            Validators.min(result, path + ".expirySeconds", t.expirySeconds, 1, "expirySeconds must be 0 or at least 1");
+            Validators.max(result, path + ".expirySeconds", t.expirySeconds, 3600, "expirySeconds cannot exceed 1 hour");
+        }
+    }
+
+    private static void validateRegionLookupCache(ValidationResult result, MainConfig.RegionLookupCacheSection c) {
+        Validators.min(result, "settings.regionLookupCache.expiryMillis", c.expiryMillis, 50, "expiryMillis must be >= 50");
+        Validators.max(result, "settings.regionLookupCache.expiryMillis", c.expiryMillis, 60000, "expiryMillis cannot exceed 60000");
+        Validators.min(result, "settings.regionLookupCache.maxSize", c.maxSize, 100, "maxSize must be >= 100");
+        Validators.max(result, "settings.regionLookupCache.maxSize", c.maxSize, 100000, "maxSize cannot exceed 100000");
+    }
+
+    private static void validateHeightmapCache(ValidationResult result, MainConfig.HeightmapCacheSection c) {
+        Validators.min(result, "settings.heightmapCache.expirySeconds", c.expirySeconds, 1, "expirySeconds must be >= 1");
+        Validators.max(result, "settings.heightmapCache.expirySeconds", c.expirySeconds, 3600, "expirySeconds cannot exceed 3600");
+        Validators.min(result, "settings.heightmapCache.maxChunks", c.maxChunks, 16, "maxChunks must be >= 16");
+        Validators.max(result, "settings.heightmapCache.maxChunks", c.maxChunks, 65536, "maxChunks cannot exceed 65536");
+    }
+
+    private static void validatePlaceholderCache(ValidationResult result, MainConfig.PlaceholderCacheSection c) {
+        Validators.min(result, "settings.placeholderCache.maxSize", c.maxSize, 100, "maxSize must be >= 100");
+        Validators.max(result, "settings.placeholderCache.maxSize", c.maxSize, 100000, "maxSize cannot exceed 100000");
+
+        if (c.ttlSeconds == null) return;
+        for (var e : c.ttlSeconds.entrySet()) {
+            String path = "settings.placeholderCache.ttlSeconds." + e.getKey();
+            String ph = e.getKey() == null ? "" : e.getKey().trim();
+            if (ph.length() < 3 || !ph.startsWith("%") || !ph.endsWith("%")) {
+                result.addError(path, "Key must be a single placeholder like %player_level%");
+            }
+            if (e.getValue() == null) {
+                result.addError(path, "TTL cannot be empty");
+                continue;
+            }
+            int ttl = e.getValue();
+            Validators.min(result, path, ttl, 1, "TTL must be >= 1 second");
+            Validators.max(result, path, ttl, 3600, "TTL cannot exceed 3600 seconds");
+        }
     }
 
     private static void validateSafeSearchBatch(ValidationResult result, MainConfig.SafeSearchBatchSection b) {
@@ -91,6 +157,10 @@ public class MainConfigValidator {
         Validators.max(result, "settings.safeSearchBatch.attemptsPerTick", b.attemptsPerTick, 5000, "attemptsPerTick too high");
         Validators.min(result, "settings.safeSearchBatch.timeBudgetMillis", b.timeBudgetMillis, 1, "timeBudgetMillis must be >= 1");
         Validators.max(result, "settings.safeSearchBatch.timeBudgetMillis", b.timeBudgetMillis, 20, "timeBudgetMillis too high");
+        Validators.min(result, "settings.safeSearchBatch.foliaParallelAttempts", b.foliaParallelAttempts, 1, "foliaParallelAttempts must be >= 1");
+        Validators.max(result, "settings.safeSearchBatch.foliaParallelAttempts", b.foliaParallelAttempts, 16, "foliaParallelAttempts too high");
+        Validators.min(result, "settings.safeSearchBatch.maxConcurrentChunkLoads", b.maxConcurrentChunkLoads, 1, "maxConcurrentChunkLoads must be >= 1");
+        Validators.max(result, "settings.safeSearchBatch.maxConcurrentChunkLoads", b.maxConcurrentChunkLoads, 256, "maxConcurrentChunkLoads too high");
     }
 
     private static void validateMaintenanceSection(ValidationResult result, MainConfig.MaintenanceSection m) {
@@ -208,6 +278,22 @@ public class MainConfigValidator {
         }
     }
 
+    private static void validateSafeSpotPool(ValidationResult result, MainConfig.SafeSpotPoolSection p) {
+        Validators.min(result, "settings.safeSpotPool.size", p.size, 1, "size must be >= 1");
+        Validators.max(result, "settings.safeSpotPool.size", p.size, 256, "size cannot exceed 256");
+        Validators.min(result, "settings.safeSpotPool.refillIntervalTicks", p.refillIntervalTicks, 1, "refillIntervalTicks must be >= 1");
+        Validators.max(result, "settings.safeSpotPool.refillIntervalTicks", p.refillIntervalTicks, 1200, "refillIntervalTicks cannot exceed 1200");
+        Validators.min(result, "settings.safeSpotPool.refillAttemptsPerRun", p.refillAttemptsPerRun, 1, "refillAttemptsPerRun must be >= 1");
+        Validators.max(result, "settings.safeSpotPool.refillAttemptsPerRun", p.refillAttemptsPerRun, 64, "refillAttemptsPerRun cannot exceed 64");
+    }
+
+    private static void validatePrewarm(ValidationResult result, MainConfig.PrewarmSection p) {
+        Validators.min(result, "settings.prewarm.chunksInFlight", p.chunksInFlight, 1, "chunksInFlight must be >= 1");
+        Validators.max(result, "settings.prewarm.chunksInFlight", p.chunksInFlight, 64, "chunksInFlight too high");
+        Validators.min(result, "settings.prewarm.maxChunksPerDestination", p.maxChunksPerDestination, 1, "maxChunksPerDestination must be >= 1");
+        Validators.max(result, "settings.prewarm.maxChunksPerDestination", p.maxChunksPerDestination, 4096, "maxChunksPerDestination too high");
+    }
+
     private static void validatePartySection(ValidationResult result, MainConfig.PartySection party) {
         // Validate scope
         if (party.scope != null) {
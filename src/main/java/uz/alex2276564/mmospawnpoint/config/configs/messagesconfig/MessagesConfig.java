@@ -309,8 +309,29 @@ public class MessagesConfig extends OkaeriConfig {
             public String helpStatsLine = "<yellow>/msp cache stats <gray>- Show cache statistics";
             public String helpClearLine = "<yellow>/msp cache clear [player] <gray>- Clear cache (all or player-specific)";
 
-            @Comment("Statistics display. Placeholders: <searches>, <hits>, <misses>, <hitRate>, <size>, <enabled>, <expiry>, <max>")
-            public String statsLine = "<gray>Cache: searches=<yellow><searches></yellow>, hits=<yellow><hits></yellow>, misses=<yellow><misses></yellow>, hitRate=<yellow><hitRate>%</yellow>, size=<yellow><size></yellow>, enabled=<yellow><enabled></yellow>, expiry=<yellow><expiry></yellow>s, max=<yellow><max></yellow>";
+            @Comment("Statistics display. Placeholders: <searches>, <hits>, <misses>, <hitRate>, <size>, <enabled>, <expiry>, <max>, <invalidated>")
+            public String statsLine = "<gray>Cache: searches=<yellow><searches></yellow>, hits=<yellow><hits></yellow>, misses=<yellow><misses></yellow>, hitRate=<yellow><hitRate>%</yellow>, size=<yellow><size></yellow>, enabled=<yellow><enabled></yellow>, expiry=<yellow><expiry></yellow>s, max=<yellow><max></yellow>, invalidated=<yellow><invalidated></yellow>";
+
+            @Comment("Per spawn type cache statistics (one line per type). Placeholders: <type>, <hits>, <misses>, <hitRate>, <evictions>, <size>, <max>, <expiry>, <avgLoad>")
+            public String typeStatsLine = "<gray>  <white><type></white>: hits=<yellow><hits></yellow>, misses=<yellow><misses></yellow>, hitRate=<yellow><hitRate>%</yellow>, evictions=<yellow><evictions></yellow>, size=<yellow><size></yellow>/<yellow><max></yellow>, expiry=<yellow><expiry></yellow>s, avgLoad=<yellow><avgLoad></yellow>ms";
+
+            @Comment("Region lookup cache statistics. Placeholders: <hits>, <misses>, <hitRate>, <size>, <enabled>, <expiry>, <max>")
+            public String regionStatsLine = "<gray>Regions: hits=<yellow><hits></yellow>, misses=<yellow><misses></yellow>, hitRate=<yellow><hitRate>%</yellow>, size=<yellow><size></yellow>, enabled=<yellow><enabled></yellow>, expiry=<yellow><expiry></yellow>ms, max=<yellow><max></yellow>";
+
+            @Comment("Heightmap cache statistics. Placeholders: <hits>, <misses>, <hitRate>, <invalidated>, <chunks>, <enabled>, <expiry>, <max>")
+            public String heightmapStatsLine = "<gray>Heightmaps: hits=<yellow><hits></yellow>, misses=<yellow><misses></yellow>, hitRate=<yellow><hitRate>%</yellow>, invalidated=<yellow><invalidated></yellow>, chunks=<yellow><chunks></yellow>, enabled=<yellow><enabled></yellow>, expiry=<yellow><expiry></yellow>s, max=<yellow><max></yellow>";
+
+            @Comment("Placeholder value cache statistics. Placeholders: <hits>, <misses>, <hitRate>, <size>, <placeholders>, <enabled>, <max>")
+            public String placeholderStatsLine = "<gray>Placeholders: hits=<yellow><hits></yellow>, misses=<yellow><misses></yellow>, hitRate=<yellow><hitRate>%</yellow>, size=<yellow><size></yellow>, cachedPlaceholders=<yellow><placeholders></yellow>, enabled=<yellow><enabled></yellow>, max=<yellow><max></yellow>";
+
+            @Comment("Safe spot pool statistics. Placeholders: <pools>, <spots>, <capacity>, <hits>, <misses>, <refilled>, <perMinute>, <enabled>")
+            public String poolStatsLine = "<gray>Pools: pools=<yellow><pools></yellow>, spots=<yellow><spots></yellow>/<yellow><capacity></yellow>, hits=<yellow><hits></yellow>, misses=<yellow><misses></yellow>, refilled=<yellow><refilled></yellow> (<yellow><perMinute></yellow>/min), enabled=<yellow><enabled></yellow>";
+
+            @Comment("Safe search scheduler statistics. Placeholders: <queued>, <peak>, <served>, <starved>, <utilization>, <exhausted>")
+            public String searchStatsLine = "<gray>Search: queued=<yellow><queued></yellow> (peak <yellow><peak></yellow>), served=<yellow><served></yellow>, starved=<yellow><starved></yellow>, budget=<yellow><utilization>%</yellow>, exhaustedTicks=<yellow><exhausted></yellow>";
+
+            @Comment("Safe search chunk loading statistics. Placeholders: <inFlight>, <waiting>, <held>, <started>, <shared>, <failed>")
+            public String chunkStatsLine = "<gray>Chunks: loading=<yellow><inFlight></yellow>, queued=<yellow><waiting></yellow>, held=<yellow><held></yellow>, started=<yellow><started></yellow>, shared=<yellow><shared></yellow>, failed=<yellow><failed></yellow>";
 
             public String clearedAll = "<green>Cleared entire safe-location cache.";
 
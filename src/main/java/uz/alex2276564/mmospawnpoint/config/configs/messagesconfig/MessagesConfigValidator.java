@@ -111,6 +111,13 @@ public class MessagesConfigValidator {
         Validators.notBlank(result, "commands.cache.helpStatsLine", cache.helpStatsLine, "Cache help stats line cannot be empty");
         Validators.notBlank(result, "commands.cache.helpClearLine", cache.helpClearLine, "Cache help clear line cannot be empty");
         Validators.notBlank(result, "commands.cache.statsLine", cache.statsLine, "Cannot be empty");
+        Validators.notBlank(result, "commands.cache.typeStatsLine", cache.typeStatsLine, "Cannot be empty");
+        Validators.notBlank(result, "commands.cache.regionStatsLine", cache.regionStatsLine, "Cannot be empty");
+        Validators.notBlank(result, "commands.cache.heightmapStatsLine", cache.heightmapStatsLine, "Cannot be empty");
+        Validators.notBlank(result, "commands.cache.placeholderStatsLine", cache.placeholderStatsLine, "Cannot be empty");
+        Validators.notBlank(result, "commands.cache.poolStatsLine", cache.poolStatsLine, "Cannot be empty");
+        Validators.notBlank(result, "commands.cache.searchStatsLine", cache.searchStatsLine, "Cannot be empty");
+        Validators.notBlank(result, "commands.cache.chunkStatsLine", cache.chunkStatsLine, "Cannot be empty");
         Validators.notBlank(result, "commands.cache.clearedAll", cache.clearedAll, "Cannot be empty");
         Validators.notBlank(result, "commands.cache.clearedPlayer", cache.clearedPlayer, "Cannot be empty");
     }
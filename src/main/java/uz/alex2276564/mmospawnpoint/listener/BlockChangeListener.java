@@ -0,0 +1,138 @@
+package uz.alex2276564.mmospawnpoint.listener;
+
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
+import uz.alex2276564.mmospawnpoint.utils.HeightmapCache;
+import uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder;
+
+import java.util.List;
+
+/**
+ * Forwards block changes to the block-position caches used by safe search
+ * (heightmap columns and cached safe spots). Best effort: changes made without
+ * events are covered by the caches' own expiry.
+ */
+public class BlockChangeListener implements Listener {
+    private final MMOSpawnPoint plugin;
+
+    public BlockChangeListener(MMOSpawnPoint plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent event) {
+        changed(event.getBlockPlaced());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent event) {
+        changed(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        changed(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        changed(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBurn(BlockBurnEvent event) {
+        changed(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFade(BlockFadeEvent event) {
+        changed(event.getBlock());
+    }
+
+    // Also covers BlockSpreadEvent and EntityBlockFormEvent
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onForm(BlockFormEvent event) {
+        changed(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onGrow(BlockGrowEvent event) {
+        changed(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFluidFlow(BlockFromToEvent event) {
+        changed(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        changed(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        changed(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        pistonMoved(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        pistonMoved(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStructureGrow(StructureGrowEvent event) {
+        for (BlockState state : event.getBlocks()) {
+            HeightmapCache.invalidateColumn(state.getWorld(), state.getX(), state.getZ());
+            SafeLocationFinder.invalidateBlock(state.getWorld(), state.getX(), state.getY(), state.getZ());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        HeightmapCache.invalidateChunk(event.getWorld(), event.getChunk().getX(), event.getChunk().getZ());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        HeightmapCache.invalidateWorld(event.getWorld().getUID());
+        if (plugin.getConfigManager().getMainConfig().settings.debugMode) {
+            plugin.getLogger().info("[HeightmapCache] Dropped cached columns of unloaded world " + event.getWorld().getName());
+        }
+    }
+
+    private void pistonMoved(Block piston, List<Block> moved, BlockFace direction) {
+        changed(piston.getRelative(direction));
+        for (Block b : moved) {
+            changed(b);
+            changed(b.getRelative(direction));
+        }
+    }
+
+    private void changed(List<Block> blocks) {
+        for (Block b : blocks) {
+            changed(b);
+        }
+    }
+
+    private void changed(Block block) {
+        HeightmapCache.invalidateColumn(block.getWorld(), block.getX(), block.getZ());
+        SafeLocationFinder.invalidateBlock(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+}
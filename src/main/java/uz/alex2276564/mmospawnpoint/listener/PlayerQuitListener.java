@@ -6,6 +6,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
 import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
+import uz.alex2276564.mmospawnpoint.utils.PlaceholderValueCache;
 import uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder;
 
 public class PlayerQuitListener implements Listener {
@@ -44,5 +45,8 @@ public class PlayerQuitListener implements Listener {
         if (plugin.getConfigManager().getMainConfig().settings.safeLocationCache.advanced.clearPlayerCacheOnQuit) {
             SafeLocationFinder.clearPlayerCache(player.getUniqueId());
         }
+
+        // Cached placeholder values are per player
+        PlaceholderValueCache.clearPlayer(player.getUniqueId());
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
+import uz.alex2276564.mmospawnpoint.manager.SpawnEventType;
 import uz.alex2276564.mmospawnpoint.party.PartyManager;
 
 import java.util.logging.Level;
@@ -61,20 +62,20 @@ public class PlayerRespawnListener implements Listener {
                     event.setRespawnLocation(partyLoc);
 
                     // run AFTER (if any pending) on next tick, since vanilla respawn will move the player
-                    plugin.getRunner().runAtEntityLater(player, () -> plugin.getSpawnManager().runAfterPhaseIfPending(player, "death"), 1L);
+                    plugin.getRunner().runAtEntityLater(player, () -> plugin.getSpawnManager().runAfterPhaseIfPending(player, SpawnEventType.DEATH), 1L);
 
                     return;
                 }
             }
 
             // Resolve MSP spawn (this returns either final or waiting room if requireSafe)
-            Location loc = plugin.getSpawnManager().findSpawnLocationByPriority("death", deathLoc, player);
+            Location loc = plugin.getSpawnManager().findSpawnLocationByPriority(SpawnEventType.DEATH, deathLoc, player);
             if (loc != null) {
                 event.setRespawnLocation(loc);
 
                 // run AFTER (if any pending) on next tick for non-waiting-room flows
                 // (for waiting-room flows, AFTER will be executed by SafeSearchJob.finish())
-                plugin.getRunner().runAtEntityLater(player, () -> plugin.getSpawnManager().runAfterPhaseIfPending(player, "death"), 1L);
+                plugin.getRunner().runAtEntityLater(player, () -> plugin.getSpawnManager().runAfterPhaseIfPending(player, SpawnEventType.DEATH), 1L);
             }
         } catch (Exception e) {
             plugin.getLogger().severe("Error handling player respawn for " + event.getPlayer().getName() + ": " + e.getMessage());
@@ -0,0 +1,31 @@
+package uz.alex2276564.mmospawnpoint.listener;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
+
+public class WorldLoadListener implements Listener {
+    private final MMOSpawnPoint plugin;
+
+    public WorldLoadListener(MMOSpawnPoint plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        // Restore the persisted safe-location cache of worlds loaded after startup
+        if (plugin.getSafeLocationCacheStore() != null) {
+            plugin.getSafeLocationCacheStore().loadWorldAsync(event.getWorld());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        if (plugin.getSafeLocationCacheStore() != null) {
+            plugin.getSafeLocationCacheStore().forgetWorld(event.getWorld());
+        }
+    }
+}
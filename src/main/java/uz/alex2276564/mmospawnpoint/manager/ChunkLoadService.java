@@ -0,0 +1,252 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import io.papermc.lib.PaperLib;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Chunk acquisition for safe search (settings.safeSearchBatch.maxConcurrentChunkLoads).
+ * <p>
+ * - At most N async chunk loads in flight server-wide; further requests wait in FIFO order
+ * - Requests for the same chunk share one load
+ * - Callbacks are delivered on the thread owning the chunk as soon as the load completes (no polling)
+ * - Loaded chunks get a plugin chunk ticket that is held until every owner released them
+ */
+public final class ChunkLoadService {
+
+    private record Key(UUID world, int x, int z) {
+    }
+
+    private static final class Request {
+        final Key key;
+        final World world;
+        final Set<Object> owners = new HashSet<>();
+        final List<Consumer<Boolean>> callbacks = new ArrayList<>(1);
+        boolean started = false;
+        boolean done = false;
+        boolean ticketed = false;
+
+        Request(Key key, World world) {
+            this.key = key;
+            this.world = world;
+        }
+    }
+
+    private final MMOSpawnPoint plugin;
+
+    // Guarded by this
+    private final Map<Key, Request> requests = new HashMap<>();
+    private final Map<Object, Set<Key>> keysByOwner = new IdentityHashMap<>();
+    private final ArrayDeque<Request> waiting = new ArrayDeque<>();
+    private int inFlight = 0;
+
+    // Metrics (guarded by this)
+    private long loadsStarted = 0;
+    private long deduplicated = 0;
+    private long failed = 0;
+
+    ChunkLoadService(MMOSpawnPoint plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Request chunk (cx, cz) on behalf of owner. onReady receives true once the chunk is loaded (false on failure)
+     * and runs on the thread owning the chunk. It is not called if every owner released the chunk before the load
+     * finished, so callbacks only need to check their own state.
+     */
+    void acquire(Object owner, World world, int cx, int cz, Consumer<Boolean> onReady) {
+        Key key = new Key(world.getUID(), cx, cz);
+        Request toStart = null;
+        Boolean readyNow = null;
+
+        synchronized (this) {
+            Request req = requests.get(key);
+            if (req == null) {
+                req = new Request(key, world);
+                requests.put(key, req);
+                if (inFlight < maxInFlight()) {
+                    markStarted(req);
+                    toStart = req;
+                } else {
+                    waiting.addLast(req);
+                }
+            } else {
+                deduplicated++;
+            }
+
+            req.owners.add(owner);
+            keysByOwner.computeIfAbsent(owner, o -> new HashSet<>()).add(key);
+
+            if (req.done) {
+                readyNow = req.ticketed;
+            } else {
+                req.callbacks.add(onReady);
+            }
+        }
+
+        if (readyNow != null) {
+            deliver(world, cx, cz, onReady, readyNow);
+        }
+        if (toStart != null) {
+            load(toStart);
+        }
+    }
+
+    /**
+     * Drop all chunks held by owner (tickets are removed once no owner is left). Safe to call more than once.
+     */
+    void release(Object owner) {
+        List<Request> unticket = new ArrayList<>();
+        synchronized (this) {
+            Set<Key> keys = keysByOwner.remove(owner);
+            if (keys == null) return;
+            for (Key key : keys) {
+                Request req = requests.get(key);
+                if (req == null) continue;
+                req.owners.remove(owner);
+                if (!req.owners.isEmpty()) continue;
+
+                if (req.done) {
+                    requests.remove(key);
+                    if (req.ticketed) unticket.add(req);
+                } else if (!req.started) {
+                    requests.remove(key);
+                    waiting.remove(req);
+                }
+                // Started but not done: onLoaded drops it without a ticket
+            }
+        }
+        for (Request req : unticket) {
+            onChunkThread(req.world, req.key.x(), req.key.z(),
+                    () -> req.world.removePluginChunkTicket(req.key.x(), req.key.z(), plugin));
+        }
+    }
+
+    /**
+     * Forget all requests. Plugin chunk tickets are removed by the server when the plugin is disabled.
+     */
+    synchronized void clear() {
+        requests.clear();
+        keysByOwner.clear();
+        waiting.clear();
+        inFlight = 0;
+    }
+
+    private int maxInFlight() {
+        return Math.max(1, plugin.getConfigManager().getMainConfig().settings.safeSearchBatch.maxConcurrentChunkLoads);
+    }
+
+    // Guarded by this
+    private void markStarted(Request req) {
+        req.started = true;
+        inFlight++;
+        loadsStarted++;
+    }
+
+    private void load(Request req) {
+        try {
+            PaperLib.getChunkAtAsync(req.world, req.key.x(), req.key.z(), true)
+                    .whenComplete((chunk, error) -> onLoaded(req, error == null && chunk != null));
+        } catch (Throwable t) {
+            onLoaded(req, false);
+        }
+    }
+
+    private void onLoaded(Request req, boolean ok) {
+        List<Consumer<Boolean>> callbacks;
+        List<Request> toStart = new ArrayList<>();
+        boolean addTicket;
+
+        synchronized (this) {
+            inFlight = Math.max(0, inFlight - 1);
+            req.done = true;
+            if (!ok) failed++;
+
+            if (req.owners.isEmpty() || !ok) {
+                // Everyone released while loading, or the load failed (a later request retries)
+                requests.remove(req.key, req);
+            }
+            if (req.owners.isEmpty()) {
+                addTicket = false;
+                callbacks = List.of();
+            } else {
+                addTicket = ok;
+                req.ticketed = ok;
+                callbacks = new ArrayList<>(req.callbacks);
+            }
+            req.callbacks.clear();
+
+            int max = maxInFlight();
+            while (inFlight < max && !waiting.isEmpty()) {
+                Request next = waiting.pollFirst();
+                markStarted(next);
+                toStart.add(next);
+            }
+        }
+
+        int cx = req.key.x();
+        int cz = req.key.z();
+        if (addTicket || !callbacks.isEmpty()) {
+            onChunkThread(req.world, cx, cz, () -> {
+                if (addTicket) req.world.addPluginChunkTicket(cx, cz, plugin);
+                for (Consumer<Boolean> cb : callbacks) {
+                    runCallback(cb, ok);
+                }
+            });
+        }
+        for (Request next : toStart) {
+            load(next);
+        }
+    }
+
+    private void deliver(World world, int cx, int cz, Consumer<Boolean> onReady, boolean ok) {
+        onChunkThread(world, cx, cz, () -> runCallback(onReady, ok));
+    }
+
+    private void runCallback(Consumer<Boolean> cb, boolean ok) {
+        try {
+            cb.accept(ok);
+        } catch (Throwable t) {
+            plugin.getLogger().warning("[ChunkLoadService] callback failed: " + t.getMessage());
+        }
+    }
+
+    /**
+     * Paper: main thread (inline when already there). Folia: the region owning the chunk.
+     */
+    private void onChunkThread(World world, int cx, int cz, Runnable task) {
+        if (plugin.getRunner().isFolia()) {
+            plugin.getRunner().runAtLocation(new Location(world, (cx << 4) + 8.0, 64.0, (cz << 4) + 8.0), task);
+        } else if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            plugin.getRunner().runGlobal(task);
+        }
+    }
+
+    // --------------- Snapshot ----------------
+
+    public record Snapshot(int inFlight, int waiting, int held, long loadsStarted, long deduplicated, long failed) {
+    }
+
+    public synchronized Snapshot snapshot() {
+        int held = 0;
+        for (Request r : requests.values()) {
+            if (r.ticketed) held++;
+        }
+        return new Snapshot(inFlight, waiting.size(), held, loadsStarted, deduplicated, failed);
+    }
+}
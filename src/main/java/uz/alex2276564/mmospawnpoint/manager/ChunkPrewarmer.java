@@ -0,0 +1,218 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
+import uz.alex2276564.mmospawnpoint.config.configs.mainconfig.MainConfig;
+import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
+import uz.alex2276564.mmospawnpoint.utils.runner.TaskHandle;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in chunk pre-warm after startup and every reload (settings.prewarm).
+ * <p>
+ * - Collects the chunks of all destinations (sampled for large areas) and waiting rooms
+ * - Loads/generates them through {@link ChunkLoadService} at a throttled rate, so safe search keeps its share of loads
+ * - Optionally keeps them ticket-loaded until the next reload/shutdown
+ * - Reports progress and timing in the console
+ */
+final class ChunkPrewarmer {
+
+    private record ChunkRef(World world, int x, int z) {
+    }
+
+    private final MMOSpawnPoint plugin;
+    private final ChunkLoadService chunkLoads;
+
+    private volatile TaskHandle timer;
+    private volatile ArrayDeque<ChunkRef> queue = new ArrayDeque<>();
+    private volatile int generation = 0;
+    private int total;
+    private int nextReportPercent;
+    private long startedAtMs;
+
+    // Updated from load callbacks (of the current generation only)
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    // Owner tokens of chunks kept loaded (keepLoaded=true)
+    private final Queue<Object> held = new ConcurrentLinkedQueue<>();
+
+    ChunkPrewarmer(MMOSpawnPoint plugin, ChunkLoadService chunkLoads) {
+        this.plugin = plugin;
+        this.chunkLoads = chunkLoads;
+    }
+
+    /**
+     * Stop any previous run, release held chunks and, if enabled, start pre-warming the given destinations.
+     */
+    void restart(Collection<DestinationPlan> plans) {
+        stop();
+
+        MainConfig.PrewarmSection cfg = plugin.getConfigManager().getMainConfig().settings.prewarm;
+        if (!cfg.enabled) return;
+
+        Set<ChunkRef> chunks = new LinkedHashSet<>();
+        int destinations = 0;
+        for (DestinationPlan plan : plans) {
+            if (collectDestination(plan, cfg.maxChunksPerDestination, chunks)) destinations++;
+        }
+        int waitingRooms = collectWaitingRooms(chunks);
+
+        generation++;
+        queue = new ArrayDeque<>(chunks);
+        total = chunks.size();
+        inFlight.set(0);
+        loaded.set(0);
+        failed.set(0);
+        nextReportPercent = 25;
+        startedAtMs = System.currentTimeMillis();
+
+        if (total == 0) return;
+
+        plugin.getLogger().info("[Prewarm] Loading " + total + " chunks for " + destinations
+                + " destinations and " + waitingRooms + " waiting rooms ("
+                + cfg.chunksInFlight + " in flight, keepLoaded=" + cfg.keepLoaded + ")");
+
+        timer = plugin.getRunner().runGlobalTimer(this::tick, 1L, 1L);
+    }
+
+    void stop() {
+        TaskHandle t = timer;
+        timer = null;
+        if (t != null) {
+            t.cancel();
+        }
+        generation++;
+        queue = new ArrayDeque<>();
+        Object token;
+        while ((token = held.poll()) != null) {
+            chunkLoads.release(token);
+        }
+    }
+
+    private void tick() {
+        MainConfig.PrewarmSection cfg = plugin.getConfigManager().getMainConfig().settings.prewarm;
+        int maxInFlight = Math.max(1, cfg.chunksInFlight);
+        boolean keep = cfg.keepLoaded;
+        ArrayDeque<ChunkRef> q = queue;
+        int gen = generation;
+
+        // At most chunksInFlight loads of ours at once: safe search keeps the rest of the load service capacity
+        while (!q.isEmpty() && inFlight.get() < maxInFlight) {
+            ChunkRef ref = q.pollFirst();
+            Object token = new Object();
+            inFlight.incrementAndGet();
+            chunkLoads.acquire(token, ref.world(), ref.x(), ref.z(), ok -> {
+                if (gen != generation) {
+                    // Restarted or stopped meanwhile
+                    chunkLoads.release(token);
+                    return;
+                }
+                inFlight.decrementAndGet();
+                if (ok) {
+                    loaded.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+                if (ok && keep) {
+                    held.add(token);
+                } else {
+                    chunkLoads.release(token);
+                }
+            });
+        }
+
+        int done = loaded.get() + failed.get();
+        while (nextReportPercent < 100 && done * 100L >= (long) total * nextReportPercent) {
+            plugin.getLogger().info("[Prewarm] " + nextReportPercent + "% (" + done + "/" + total + ")");
+            nextReportPercent += 25;
+        }
+
+        if (q.isEmpty() && done >= total) {
+            TaskHandle t = timer;
+            timer = null;
+            if (t != null) t.cancel();
+            plugin.getLogger().info("[Prewarm] Done: " + loaded.get() + " chunks loaded, " + failed.get()
+                    + " failed in " + (System.currentTimeMillis() - startedAtMs) + " ms"
+                    + (keep ? " (kept loaded)" : ""));
+        }
+    }
+
+    /**
+     * Small areas contribute every chunk; larger ones a random sample weighted like the safe search itself.
+     */
+    private boolean collectDestination(DestinationPlan plan, int maxChunks, Set<ChunkRef> out) {
+        DestinationPlan.Geometry g = plan.geometry();
+        if (g == null) return false;
+        World world = g.world();
+
+        if (plan.point) {
+            SpawnPointsConfig.Destination d = plan.destination;
+            out.add(new ChunkRef(world, ((int) Math.floor(d.x.value)) >> 4, ((int) Math.floor(d.z.value)) >> 4));
+            return true;
+        }
+
+        long chunkCount = 0;
+        for (Rect r : g.include()) {
+            chunkCount += (long) ((((int) Math.floor(r.maxX())) >> 4) - (((int) Math.floor(r.minX())) >> 4) + 1)
+                    * ((((int) Math.floor(r.maxZ())) >> 4) - (((int) Math.floor(r.minZ())) >> 4) + 1);
+        }
+
+        if (chunkCount <= maxChunks) {
+            for (Rect r : g.include()) {
+                for (int cx = ((int) Math.floor(r.minX())) >> 4; cx <= ((int) Math.floor(r.maxX())) >> 4; cx++) {
+                    for (int cz = ((int) Math.floor(r.minZ())) >> 4; cz <= ((int) Math.floor(r.maxZ())) >> 4; cz++) {
+                        out.add(new ChunkRef(world, cx, cz));
+                    }
+                }
+            }
+        } else {
+            Set<ChunkRef> sample = new LinkedHashSet<>();
+            for (int i = 0; i < maxChunks * 4 && sample.size() < maxChunks; i++) {
+                Rect r = g.pick();
+                sample.add(new ChunkRef(world, ((int) Math.floor(r.randomX())) >> 4, ((int) Math.floor(r.randomZ())) >> 4));
+            }
+            out.addAll(sample);
+        }
+        return true;
+    }
+
+    private int collectWaitingRooms(Set<ChunkRef> out) {
+        MainConfig.WaitingRoomSection wr = plugin.getConfigManager().getMainConfig().settings.waitingRoom;
+        if (!wr.enabled) return 0;
+
+        Set<ChunkRef> rooms = new LinkedHashSet<>();
+        addWaitingRoom(wr.location, rooms);
+        List<SpawnEntry> entries = plugin.getConfigManager().getAllSpawnEntries();
+        if (entries != null) {
+            for (SpawnEntry entry : entries) {
+                SpawnPointsConfig.SpawnPointEntry data = entry.spawnData();
+                if (data == null) continue;
+                addWaitingRoom(data.waitingRoom, rooms);
+                if (data.destinations == null) continue;
+                for (SpawnPointsConfig.Destination d : data.destinations) {
+                    if (d != null) addWaitingRoom(d.waitingRoom, rooms);
+                }
+            }
+        }
+        out.addAll(rooms);
+        return rooms.size();
+    }
+
+    private void addWaitingRoom(SpawnPointsConfig.WaitingRoomConfig room, Set<ChunkRef> out) {
+        if (room == null) return;
+        World world = Bukkit.getWorld(room.world);
+        if (world == null) return;
+        out.add(new ChunkRef(world, ((int) Math.floor(room.x)) >> 4, ((int) Math.floor(room.z)) >> 4));
+    }
+}
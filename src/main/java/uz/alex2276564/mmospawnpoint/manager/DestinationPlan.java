@@ -0,0 +1,218 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
+import uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder.resolveMinY;
+
+/**
+ * Runtime form of a {@link SpawnPointsConfig.Destination}, compiled once per reload.
+ * <p>
+ * - Ground whitelist compiled to an EnumSet together with its cache-key hash
+ * - Y-selection override built once
+ * - World resolved on first use and kept while it stays loaded (destinations may reference worlds that load later)
+ * - Include/exclude rects normalized against that world; exclude rects spanning an include rect's
+ *   full Y range are subtracted from it up front, and the remaining boxes are picked by XZ area
+ */
+final class DestinationPlan {
+
+    final SpawnPointsConfig.Destination destination;
+    final boolean point;
+    final SafeLocationFinder.GroundWhitelist groundWhitelist;
+    @Nullable
+    final SafeLocationFinder.YSelectionOverride yOverride;
+
+    /**
+     * World-dependent part: rects without a y spec span the world's height range.
+     * include holds the sampling boxes (axis specs become a single rect) and is empty only when
+     * every configured rect is fully excluded; cumulativeColumns[i] is the XZ column count of include[0..i].
+     * exclude keeps every configured exclude rect for the final (cheap) per-location check,
+     * since partial-height excludes cannot be subtracted in XZ.
+     */
+    record Geometry(World world, List<Rect> include, List<Rect> exclude, double[] cumulativeColumns) {
+
+        /**
+         * Subtract full-height excludes from the configured rects and index the remaining boxes by column count.
+         */
+        static Geometry of(World world, List<Rect> configured, List<Rect> exclude) {
+            List<Rect> include = new ArrayList<>();
+            for (Rect r : configured) {
+                include.addAll(subtractExcluded(r, exclude));
+            }
+
+            double[] cumulative = new double[include.size()];
+            double sum = 0.0;
+            for (int i = 0; i < include.size(); i++) {
+                sum += include.get(i).columnsXZ();
+                cumulative[i] = sum;
+            }
+            return new Geometry(world, List.copyOf(include), exclude, cumulative);
+        }
+
+        /**
+         * True when nothing is left to sample (the destination is fully excluded).
+         */
+        boolean isEmpty() {
+            return include.isEmpty();
+        }
+
+        /**
+         * Pick a sampling box with probability proportional to its column count, or null when empty.
+         */
+        @Nullable
+        Rect pick() {
+            int n = include.size();
+            if (n == 0) return null;
+            if (n == 1) return include.get(0);
+            double r = ThreadLocalRandom.current().nextDouble(cumulativeColumns[n - 1]);
+            int i = Arrays.binarySearch(cumulativeColumns, r);
+            // exact hit on a boundary belongs to the next box; otherwise take the insertion point
+            i = (i >= 0) ? i + 1 : -i - 1;
+            return include.get(Math.min(i, n - 1));
+        }
+    }
+
+    private volatile Geometry geometry;
+
+    private DestinationPlan(SpawnPointsConfig.Destination destination) {
+        this.destination = destination;
+        this.point = isPoint(destination);
+        this.groundWhitelist = SafeLocationFinder.GroundWhitelist.of(toMaterialSet(destination.groundWhitelist));
+        this.yOverride = (destination.ySelection == null) ? null : new SafeLocationFinder.YSelectionOverride(
+                destination.ySelection.mode,
+                destination.ySelection.first,
+                destination.ySelection.firstShare,
+                destination.ySelection.respectRange
+        );
+    }
+
+    static DestinationPlan compile(SpawnPointsConfig.Destination destination) {
+        return new DestinationPlan(destination);
+    }
+
+    /**
+     * @return geometry for the destination world, or null while that world is not loaded
+     */
+    @Nullable
+    Geometry geometry() {
+        Geometry g = geometry;
+        if (g != null && Bukkit.getWorld(g.world().getUID()) == g.world()) return g;
+
+        World world = Bukkit.getWorld(destination.world);
+        if (world == null) {
+            geometry = null;
+            return null;
+        }
+        g = buildGeometry(world);
+        geometry = g;
+        return g;
+    }
+
+    @Nullable
+    World world() {
+        Geometry g = geometry();
+        return (g == null) ? null : g.world();
+    }
+
+    private Geometry buildGeometry(World world) {
+        List<Rect> configured = toRects(destination.rects, world);
+        if (configured.isEmpty()) {
+            configured = List.of(axisRect(world));
+        }
+        List<Rect> exclude = toRects(destination.excludeRects, world);
+        return Geometry.of(world, configured, exclude);
+    }
+
+    static List<Rect> subtractExcluded(Rect rect, List<Rect> exclude) {
+        List<Rect> pieces = List.of(rect);
+        for (Rect ex : exclude) {
+            if (!ex.coversY(rect) || !ex.intersectsXZ(rect)) continue;
+            List<Rect> next = new ArrayList<>(pieces.size() + 3);
+            for (Rect piece : pieces) {
+                piece.subtractXZ(ex, next);
+            }
+            pieces = next;
+            if (pieces.isEmpty()) break;
+        }
+        return pieces;
+    }
+
+    private Rect axisRect(World world) {
+        SpawnPointsConfig.AxisSpec x = destination.x;
+        SpawnPointsConfig.AxisSpec z = destination.z;
+        SpawnPointsConfig.AxisSpec y = destination.y;
+
+        double minY = resolveMinY(world);
+        double maxY = world.getMaxHeight();
+        if (y != null) {
+            minY = y.isValue() ? y.value : y.min;
+            maxY = y.isValue() ? y.value : y.max;
+        }
+        return Rect.of(
+                x.isValue() ? x.value : x.min, x.isValue() ? x.value : x.max,
+                minY, maxY,
+                z.isValue() ? z.value : z.min, z.isValue() ? z.value : z.max
+        );
+    }
+
+    private static List<Rect> toRects(List<SpawnPointsConfig.RectSpec> list, World world) {
+        if (list == null || list.isEmpty()) return Collections.emptyList();
+        List<Rect> out = new ArrayList<>(list.size());
+        for (SpawnPointsConfig.RectSpec r : list) {
+            if (r == null || r.x == null || r.z == null) continue;
+
+            double minY;
+            double maxY;
+            if (r.y == null) {
+                minY = resolveMinY(world);
+                maxY = world.getMaxHeight();
+            } else if (r.y.isValue()) {
+                minY = r.y.value;
+                maxY = r.y.value;
+            } else {
+                minY = r.y.min;
+                maxY = r.y.max;
+            }
+
+            out.add(Rect.of(
+                    r.x.isValue() ? r.x.value : r.x.min, r.x.isValue() ? r.x.value : r.x.max,
+                    minY, maxY,
+                    r.z.isValue() ? r.z.value : r.z.min, r.z.isValue() ? r.z.value : r.z.max
+            ));
+        }
+        return List.copyOf(out);
+    }
+
+    private static boolean isPoint(SpawnPointsConfig.Destination d) {
+        return d.x != null && d.z != null
+                && d.x.isValue() && d.z.isValue()
+                && (d.y == null || d.y.isValue());
+    }
+
+    /**
+     * Unknown or legacy materials are skipped silently; config validators already report them.
+     */
+    private static Set<Material> toMaterialSet(List<String> names) {
+        if (names == null || names.isEmpty()) return Collections.emptySet();
+        Set<Material> set = EnumSet.noneOf(Material.class);
+        for (String n : names) {
+            Material m = Material.matchMaterial(n);
+            if (m != null) {
+                set.add(m);
+            }
+        }
+        return set;
+    }
+}
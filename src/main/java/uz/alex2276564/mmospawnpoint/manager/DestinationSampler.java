@@ -0,0 +1,132 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted picker for the destination list of one spawn entry, compiled once per reload.
+ * <p>
+ * - Static lists (no destination has weightConditions) are sampled in O(1) from a Walker/Vose alias table
+ * - Lists with player-dependent weights keep the base weights and are sampled from weights
+ *   computed per call, with a primitive cumulative scan
+ */
+final class DestinationSampler {
+
+    private final List<SpawnPointsConfig.Destination> options;
+    private final boolean dynamic;
+    private final int[] baseWeights;
+
+    // Alias table (static lists with a positive total only)
+    private final double[] probability;
+    private final int[] alias;
+
+    private DestinationSampler(List<SpawnPointsConfig.Destination> options) {
+        this.options = options;
+        int n = options.size();
+
+        boolean hasConditions = false;
+        int[] weights = new int[n];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            SpawnPointsConfig.Destination d = options.get(i);
+            if (d == null) continue; // never picked
+            if (d.weightConditions != null && !d.weightConditions.isEmpty()) {
+                hasConditions = true;
+            }
+            weights[i] = Math.max(0, d.weight);
+            total += weights[i];
+        }
+        this.dynamic = hasConditions;
+        this.baseWeights = weights;
+
+        if (dynamic || total <= 0) {
+            this.probability = null;
+            this.alias = null;
+            return;
+        }
+
+        // Vose: split columns into under-full (small) and over-full (large), then pair them up
+        double[] prob = new double[n];
+        int[] al = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int ns = 0;
+        int nl = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * (double) n / total;
+            if (scaled[i] < 1.0) small[ns++] = i;
+            else large[nl++] = i;
+        }
+        while (ns > 0 && nl > 0) {
+            int s = small[--ns];
+            int l = large[--nl];
+            prob[s] = scaled[s];
+            al[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) small[ns++] = l;
+            else large[nl++] = l;
+        }
+        // Leftovers are full columns (up to rounding)
+        while (nl > 0) prob[large[--nl]] = 1.0;
+        while (ns > 0) prob[small[--ns]] = 1.0;
+
+        this.probability = prob;
+        this.alias = al;
+    }
+
+    static DestinationSampler compile(List<SpawnPointsConfig.Destination> options) {
+        return new DestinationSampler(options);
+    }
+
+    /**
+     * True when weights depend on the player; use {@link #sample(int[])} with effective weights then.
+     */
+    boolean isDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * Configured weights in option order (read-only).
+     */
+    int[] baseWeights() {
+        return baseWeights;
+    }
+
+    /**
+     * O(1) pick for static lists. Returns null when all weights are zero.
+     */
+    SpawnPointsConfig.Destination sample() {
+        if (probability == null) {
+            return dynamic ? sample(baseWeights) : null;
+        }
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int column = rnd.nextInt(probability.length);
+        return options.get(rnd.nextDouble() < probability[column] ? column : alias[column]);
+    }
+
+    /**
+     * Pick proportionally to {@code weights} (same order as the options). Returns null when the total is not positive.
+     */
+    SpawnPointsConfig.Destination sample(int[] weights) {
+        long total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        if (total <= 0) return null;
+
+        long rnd = ThreadLocalRandom.current().nextLong(total);
+        long acc = 0;
+        for (int i = 0; i < weights.length; i++) {
+            acc += weights[i];
+            if (rnd < acc) {
+                return options.get(i);
+            }
+        }
+        // Fallback
+        return options.get(0);
+    }
+}
@@ -0,0 +1,33 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import org.bukkit.Location;
+import uz.alex2276564.mmospawnpoint.utils.WorldGuardUtils;
+
+import java.util.Set;
+
+/**
+ * Lookup state shared by all spawn entries tested against one location during a single resolution.
+ * WorldGuard regions are queried at most once, on first use by a REGION entry.
+ */
+public final class LocationMatchContext {
+
+    private final Location location;
+    private Set<String> regions;
+
+    public LocationMatchContext(Location location) {
+        this.location = location;
+    }
+
+    public Location location() {
+        return location;
+    }
+
+    public Set<String> regions() {
+        Set<String> r = regions;
+        if (r == null) {
+            r = WorldGuardUtils.getRegionsAt(location);
+            regions = r;
+        }
+        return r;
+    }
+}
@@ -0,0 +1,67 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import org.bukkit.entity.Player;
+import uz.alex2276564.mmospawnpoint.utils.PlaceholderUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Condition lookups shared by everything evaluated for one player during a single spawn resolution
+ * (entry conditions, destination weights, action chances). Each placeholder and permission node is
+ * resolved at most once; a new context is created per flow, so values never outlive it.
+ * Not thread-safe: used on the thread running the resolution.
+ */
+public final class PlayerConditionContext {
+
+    private final Player player;
+    private final Map<String, String> placeholders = new HashMap<>();
+    private final Map<String, Boolean> permissions = new HashMap<>();
+    private Boolean bypassPermissions;
+
+    public PlayerConditionContext(Player player) {
+        this.player = player;
+    }
+
+    public Player player() {
+        return player;
+    }
+
+    public String placeholder(String placeholder) {
+        String value = placeholders.get(placeholder);
+        if (value == null) {
+            value = PlaceholderUtils.resolvePlaceholder(player, placeholder);
+            placeholders.put(placeholder, value);
+        }
+        return value;
+    }
+
+    public boolean hasPermission(String node) {
+        Boolean has = permissions.get(node);
+        if (has == null) {
+            has = player.hasPermission(node);
+            permissions.put(node, has);
+        }
+        return has;
+    }
+
+    /**
+     * OP or "*" bypasses all permission conditions (not placeholders); checked once per context.
+     */
+    public boolean bypassPermissions() {
+        Boolean bypass = bypassPermissions;
+        if (bypass == null) {
+            bypass = player.isOp() || hasPermission("*");
+            bypassPermissions = bypass;
+        }
+        return bypass;
+    }
+
+    public boolean checkPlaceholderCondition(String condition) {
+        return PlaceholderUtils.checkPlaceholderCondition(condition, this::placeholder);
+    }
+
+    public boolean evaluatePermissionExpression(String expression) {
+        return PlaceholderUtils.evaluatePermissionExpression(expression, this::hasPermission, bypassPermissions());
+    }
+}
@@ -0,0 +1,73 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Axis-aligned box used by destination search (inclusive bounds, min <= max on every axis).
+ */
+record Rect(double minX, double maxX, double minY, double maxY, double minZ, double maxZ) {
+
+    static Rect of(double x1, double x2, double y1, double y2, double z1, double z2) {
+        return new Rect(
+                Math.min(x1, x2), Math.max(x1, x2),
+                Math.min(y1, y2), Math.max(y1, y2),
+                Math.min(z1, z2), Math.max(z1, z2)
+        );
+    }
+
+    boolean contains(double x, double y, double z) {
+        return x >= minX && x <= maxX
+                && y >= minY && y <= maxY
+                && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Number of block columns covered in XZ (at least 1).
+     */
+    double columnsXZ() {
+        return (Math.floor(maxX) - Math.floor(minX) + 1.0) * (Math.floor(maxZ) - Math.floor(minZ) + 1.0);
+    }
+
+    double randomX() {
+        return (minX == maxX) ? minX : ThreadLocalRandom.current().nextDouble(minX, Math.nextUp(maxX));
+    }
+
+    double randomZ() {
+        return (minZ == maxZ) ? minZ : ThreadLocalRandom.current().nextDouble(minZ, Math.nextUp(maxZ));
+    }
+
+    boolean intersectsXZ(Rect o) {
+        return minX <= o.maxX && maxX >= o.minX
+                && minZ <= o.maxZ && maxZ >= o.minZ;
+    }
+
+    boolean coversY(Rect o) {
+        return minY <= o.minY && maxY >= o.maxY;
+    }
+
+    /**
+     * Remove the XZ footprint of {@code cutter} from this box (Y range kept) and append the
+     * remaining disjoint pieces to {@code out}: up to two full-depth slabs along X and two along Z.
+     */
+    void subtractXZ(Rect cutter, List<Rect> out) {
+        if (!intersectsXZ(cutter)) {
+            out.add(this);
+            return;
+        }
+        if (cutter.minX > minX) {
+            out.add(new Rect(minX, Math.nextDown(cutter.minX), minY, maxY, minZ, maxZ));
+        }
+        if (cutter.maxX < maxX) {
+            out.add(new Rect(Math.nextUp(cutter.maxX), maxX, minY, maxY, minZ, maxZ));
+        }
+        double midMinX = Math.max(minX, cutter.minX);
+        double midMaxX = Math.min(maxX, cutter.maxX);
+        if (cutter.minZ > minZ) {
+            out.add(new Rect(midMinX, midMaxX, minY, maxY, minZ, Math.nextDown(cutter.minZ)));
+        }
+        if (cutter.maxZ < maxZ) {
+            out.add(new Rect(midMinX, midMaxX, minY, maxY, Math.nextUp(cutter.maxZ), maxZ));
+        }
+    }
+}
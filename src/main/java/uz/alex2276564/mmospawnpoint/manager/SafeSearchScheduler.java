@@ -0,0 +1,184 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
+import uz.alex2276564.mmospawnpoint.utils.runner.TaskHandle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives every waiting-room safe search from one global timer with a single server-wide per-tick budget
+ * (settings.safeSearchBatch.attemptsPerTick and timeBudgetMillis).
+ * <p>
+ * - Jobs are served least-recently-served first, longest waiting first among equals (round-robin with wait-time priority)
+ * - Each served job gets a fair share of the attempts and time left in the tick
+ * - Housekeeping (timeouts, offline checks) runs for every job each tick, even when the budget is spent
+ * - The timer only runs while jobs are queued
+ */
+public final class SafeSearchScheduler {
+
+    interface Job {
+        long waitingSinceMs();
+
+        boolean isFinished();
+
+        /**
+         * Cheap per-tick checks. Returns false when the job does not need budget this tick (finished or waiting).
+         */
+        boolean prepare();
+
+        /**
+         * Run (or dispatch) up to maxAttempts attempts, stopping at deadlineNs. Returns the attempts used.
+         */
+        int run(int maxAttempts, long deadlineNs);
+    }
+
+    private static final class Entry {
+        final Job job;
+        long lastServedTick = -1L;
+
+        Entry(Job job) {
+            this.job = job;
+        }
+    }
+
+    // Served first: not served for the longest time, then waiting the longest
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingLong((Entry e) -> e.lastServedTick)
+            .thenComparingLong(e -> e.job.waitingSinceMs());
+
+    // Budget utilization is smoothed over roughly the last 20 ticks
+    private static final double UTILIZATION_ALPHA = 0.1;
+
+    private final MMOSpawnPoint plugin;
+
+    // Submissions may come from any thread; entries are only touched on the scheduler thread
+    private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final Object timerLock = new Object();
+    private TaskHandle timer;
+    private long tickNo = 0L;
+
+    // Metrics
+    private volatile int queued = 0;
+    private volatile int servedLastTick = 0;
+    private volatile int starvedLastTick = 0;
+    private volatile int peakQueued = 0;
+    private volatile double utilization = 0.0;
+    private final AtomicLong exhaustedTicks = new AtomicLong(0);
+
+    SafeSearchScheduler(MMOSpawnPoint plugin) {
+        this.plugin = plugin;
+    }
+
+    void submit(Job job) {
+        incoming.add(new Entry(job));
+        synchronized (timerLock) {
+            if (timer == null) {
+                timer = plugin.getRunner().runGlobalTimer(this::tick, 1L, 1L);
+            }
+        }
+    }
+
+    void shutdown() {
+        synchronized (timerLock) {
+            if (timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+        }
+        incoming.clear();
+        queued = 0;
+    }
+
+    private void tick() {
+        long tickStart = System.nanoTime();
+        tickNo++;
+
+        Entry e;
+        while ((e = incoming.poll()) != null) {
+            entries.add(e);
+        }
+        entries.removeIf(x -> x.job.isFinished());
+
+        int size = entries.size();
+        queued = size;
+        if (size > peakQueued) peakQueued = size;
+        if (size == 0) {
+            stopIfIdle();
+            return;
+        }
+
+        var batch = plugin.getConfigManager().getMainConfig().settings.safeSearchBatch;
+        int maxAttempts = Math.max(10, batch.attemptsPerTick);
+        long budgetNs = Math.max(1, batch.timeBudgetMillis) * 1_000_000L;
+        long deadline = tickStart + budgetNs;
+
+        entries.sort(ORDER);
+
+        int attemptsLeft = maxAttempts;
+        int served = 0;
+        int starved = 0;
+
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries.get(i);
+            Job job = entry.job;
+            if (!job.prepare()) continue;
+
+            long now = System.nanoTime();
+            if (attemptsLeft <= 0 || now >= deadline) {
+                starved++;
+                continue;
+            }
+
+            int jobsLeft = size - i;
+            int share = Math.max(1, attemptsLeft / jobsLeft);
+            long sliceEnd = now + Math.max(1L, (deadline - now) / jobsLeft);
+
+            attemptsLeft -= job.run(share, sliceEnd);
+            entry.lastServedTick = tickNo;
+            served++;
+        }
+
+        servedLastTick = served;
+        starvedLastTick = starved;
+        if (starved > 0) exhaustedTicks.incrementAndGet();
+
+        double timeShare = (double) (System.nanoTime() - tickStart) / budgetNs;
+        double attemptShare = (double) (maxAttempts - attemptsLeft) / maxAttempts;
+        double used = Math.min(1.0, Math.max(timeShare, attemptShare));
+        utilization += UTILIZATION_ALPHA * (used - utilization);
+    }
+
+    private void stopIfIdle() {
+        synchronized (timerLock) {
+            if (incoming.isEmpty() && timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+        }
+        utilization = 0.0;
+        servedLastTick = 0;
+        starvedLastTick = 0;
+    }
+
+    // --------------- Snapshot ----------------
+
+    /**
+     * @param utilizationPercent smoothed share of the per-tick budget (time or attempts, whichever is higher)
+     * @param starved            jobs that wanted budget last tick but got none
+     * @param exhaustedTicks     ticks where at least one job was starved
+     */
+    public record Snapshot(int queued, int peakQueued, int served, int starved, double utilizationPercent,
+                           long exhaustedTicks) {
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(queued, peakQueued, servedLastTick, starvedLastTick, utilization * 100.0, exhaustedTicks.get());
+    }
+}
@@ -0,0 +1,114 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.Nullable;
+import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-destination pools of pre-validated safe locations (requireSafe area destinations).
+ * <p>
+ * - A pool is created the first time its destination is used, then refilled in the background
+ * - Spots are re-validated with isSafeLocation when taken; stale spots are simply dropped
+ * - Destinations are re-created on reload, so all pools are cleared then
+ */
+public final class SafeSpotPool {
+
+    static final class Pool {
+        final SpawnPointsConfig.Destination destination;
+        final ConcurrentLinkedDeque<Location> spots = new ConcurrentLinkedDeque<>();
+        // ConcurrentLinkedDeque.size() is O(n)
+        final AtomicInteger size = new AtomicInteger();
+        volatile boolean refillInFlight = false;
+
+        Pool(SpawnPointsConfig.Destination destination) {
+            this.destination = destination;
+        }
+    }
+
+    private final Map<SpawnPointsConfig.Destination, Pool> pools = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong refilled = new AtomicLong(0);
+    private volatile long countingSinceMs = System.currentTimeMillis();
+
+    Pool poolFor(SpawnPointsConfig.Destination destination) {
+        return pools.computeIfAbsent(destination, Pool::new);
+    }
+
+    /**
+     * Takes one spot (not validated). Creates the pool on first use so the refill task picks it up.
+     */
+    @Nullable
+    Location poll(SpawnPointsConfig.Destination destination) {
+        Pool pool = poolFor(destination);
+        Location loc = pool.spots.pollFirst();
+        if (loc == null) return null;
+        pool.size.decrementAndGet();
+        return loc.clone();
+    }
+
+    void offer(Pool pool, Location location, int capacity) {
+        if (pool.size.incrementAndGet() > capacity) {
+            pool.size.decrementAndGet();
+            return;
+        }
+        pool.spots.offerLast(location.clone());
+        refilled.incrementAndGet();
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    List<Pool> pools() {
+        synchronized (pools) {
+            return new ArrayList<>(pools.values());
+        }
+    }
+
+    public void clear() {
+        pools.clear();
+        hits.set(0);
+        misses.set(0);
+        refilled.set(0);
+        countingSinceMs = System.currentTimeMillis();
+    }
+
+    // --------------- Snapshot ----------------
+
+    public record Snapshot(int pools, int spots, int capacity, long hits, long misses, long refilled,
+                           double refilledPerMinute) {
+    }
+
+    public Snapshot snapshot(int sizePerPool) {
+        List<Pool> all = pools();
+        int spots = 0;
+        for (Pool p : all) spots += Math.max(0, p.size.get());
+
+        long elapsedMs = Math.max(1L, System.currentTimeMillis() - countingSinceMs);
+        long r = refilled.get();
+        return new Snapshot(
+                all.size(),
+                spots,
+                all.size() * sizePerPool,
+                hits.get(),
+                misses.get(),
+                r,
+                r * 60_000.0 / elapsedMs
+        );
+    }
+}
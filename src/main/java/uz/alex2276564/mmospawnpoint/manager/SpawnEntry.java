@@ -3,9 +3,7 @@ package uz.alex2276564.mmospawnpoint.manager;
 import org.bukkit.Location;
 import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
 import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
-import uz.alex2276564.mmospawnpoint.utils.WorldGuardUtils;
 
-import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
@@ -15,32 +13,46 @@ public record SpawnEntry(
         int calculatedPriority,
         String event, // "death" | "join" | "both"
         SpawnPointsConfig.SpawnPointEntry spawnData,
-        String fileName
+        String fileName,
+        Set<SpawnEventType> scope, // resolved from event at load
+        TriggerGeometry trigger // compiled triggerArea (COORDINATE only), null otherwise
 ) {
     public enum Type {REGION, WORLD, COORDINATE}
 
+    public SpawnEntry(Type type, int calculatedPriority, String event, SpawnPointsConfig.SpawnPointEntry spawnData, String fileName) {
+        this(type, calculatedPriority, event, spawnData, fileName,
+                SpawnEventType.scopeOf(event),
+                (type == Type.COORDINATE && spawnData != null) ? TriggerGeometry.compile(spawnData.triggerArea) : null);
+    }
+
     private static final ConcurrentHashMap<String, Pattern> REGEX_CACHE = new ConcurrentHashMap<>();
 
     public static void clearPatternCache() {
         REGEX_CACHE.clear();
     }
 
-    public boolean isForEventType(String eventType) {
-        if (event == null || eventType == null) return false;
-        String e = event.toLowerCase(Locale.ROOT);
-        String et = eventType.toLowerCase(Locale.ROOT);
-        return "both".equals(e) || e.equals(et);
+    public boolean isForEventType(SpawnEventType eventType) {
+        return eventType != null && scope.contains(eventType);
     }
 
     public boolean matchesLocation(Location location) {
+        return matchesLocation(new LocationMatchContext(location));
+    }
+
+    /**
+     * Same as {@link #matchesLocation(Location)}, sharing per-location lookups (regions) across entries.
+     */
+    public boolean matchesLocation(LocationMatchContext context) {
+        Location location = context.location();
         return switch (type) {
-            case REGION -> matchesRegion(location);
+            case REGION -> matchesRegion(context);
             case WORLD -> matchesWorld(location);
             case COORDINATE -> matchesCoordinates(location);
         };
     }
 
-    private boolean matchesRegion(Location location) {
+    private boolean matchesRegion(LocationMatchContext context) {
+        Location location = context.location();
         if (spawnData == null) return false;
         if (!MMOSpawnPoint.getInstance().isWorldGuardEnabled()) {
             return false;
@@ -54,7 +66,7 @@ public record SpawnEntry(
             if (!worldOk) return false;
 
             // Region check
-            Set<String> regions = WorldGuardUtils.getRegionsAt(location);
+            Set<String> regions = context.regions();
             if (regions.isEmpty()) return false;
 
             for (String id : regions) {
@@ -74,90 +86,15 @@ public record SpawnEntry(
     }
 
     private boolean matchesCoordinates(Location location) {
-        if (spawnData == null || spawnData.triggerArea == null) return false;
+        if (spawnData == null || trigger == null) return false;
 
         SpawnPointsConfig.TriggerArea area = spawnData.triggerArea;
         if (!matchByMode(area.world, area.worldMatchMode, location.getWorld().getName())) return false;
 
-        if (area.rects != null && !area.rects.isEmpty()) {
-            boolean insideInclude = false;
-            for (SpawnPointsConfig.RectSpec r : area.rects) {
-                if (r == null || r.x == null || r.z == null) continue;
-                double minX = r.x.isValue() ? r.x.value : r.x.min;
-                double maxX = r.x.isValue() ? r.x.value : r.x.max;
-                double minZ = r.z.isValue() ? r.z.value : r.z.min;
-                double maxZ = r.z.isValue() ? r.z.value : r.z.max;
-                double minY;
-                double maxY;
-                if (r.y == null) {
-                    minY = Double.NEGATIVE_INFINITY;
-                    maxY = Double.POSITIVE_INFINITY;
-                } else if (r.y.isValue()) {
-                    minY = r.y.value;
-                    maxY = r.y.value;
-                } else {
-                    minY = r.y.min;
-                    maxY = r.y.max;
-                }
-                if (insideRect(location, minX, maxX, minY, maxY, minZ, maxZ)) {
-                    insideInclude = true;
-                    break;
-                }
-            }
-            if (!insideInclude) return false;
-
-            if (area.excludeRects != null && !area.excludeRects.isEmpty()) {
-                for (SpawnPointsConfig.RectSpec ex : area.excludeRects) {
-                    if (ex == null || ex.x == null || ex.z == null) continue;
-                    double exMinX = ex.x.isValue() ? ex.x.value : ex.x.min;
-                    double exMaxX = ex.x.isValue() ? ex.x.value : ex.x.max;
-                    double exMinZ = ex.z.isValue() ? ex.z.value : ex.z.min;
-                    double exMaxZ = ex.z.isValue() ? ex.z.value : ex.z.max;
-                    double exMinY;
-                    double exMaxY;
-                    if (ex.y == null) {
-                        exMinY = Double.NEGATIVE_INFINITY;
-                        exMaxY = Double.POSITIVE_INFINITY;
-                    } else if (ex.y.isValue()) {
-                        exMinY = ex.y.value;
-                        exMaxY = ex.y.value;
-                    } else {
-                        exMinY = ex.y.min;
-                        exMaxY = ex.y.max;
-                    }
-                    if (insideRect(location, exMinX, exMaxX, exMinY, exMaxY, exMinZ, exMaxZ)) {
-                        return false;
-                    }
-                }
-            }
-            return true;
-        }
-
-        int bx = location.getBlockX();
-        int by = location.getBlockY();
-        int bz = location.getBlockZ();
-
-        if (area.x != null && !matchesAxis(area.x, location.getX(), bx)) return false;
-        if (area.y != null && !matchesAxis(area.y, location.getY(), by)) return false;
-        return area.z == null || matchesAxis(area.z, location.getZ(), bz);
-    }
-
-    private boolean insideRect(Location loc, double minX, double maxX, double minY, double maxY, double minZ, double maxZ) {
-        double x = loc.getX();
-        double y = loc.getY();
-        double z = loc.getZ();
-        return x >= Math.min(minX, maxX) && x <= Math.max(minX, maxX)
-                && y >= Math.min(minY, maxY) && y <= Math.max(minY, maxY)
-                && z >= Math.min(minZ, maxZ) && z <= Math.max(minZ, maxZ);
-    }
-
-    private boolean matchesAxis(SpawnPointsConfig.AxisSpec axis, double coord, int blockCoord) {
-        if (axis.isValue()) {
-            return blockCoord == (int) Math.floor(axis.value);
-        } else if (axis.isRange()) {
-            return coord >= axis.min && coord <= axis.max;
-        }
-        return false;
+        return trigger.matches(
+                location.getX(), location.getY(), location.getZ(),
+                location.getBlockX(), location.getBlockY(), location.getBlockZ()
+        );
     }
 
     private boolean matchByMode(String patternOrText, String mode, String candidate) {
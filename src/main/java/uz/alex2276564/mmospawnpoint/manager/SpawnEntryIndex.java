@@ -0,0 +1,267 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
+import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
+
+import java.util.*;
+
+/**
+ * Compiled matching index for spawn entries (built once per reload).
+ * <p>
+ * - Entries are partitioned by event type (scope "both" is placed into death and join)
+ * - Inside an event, entries bound to an exact world name are bucketed by that world
+ * - COORDINATE entries are additionally placed on a coarse XZ grid over their trigger area
+ * - REGION entries with an exact region id are keyed by that id (regions at the location are queried once)
+ * - Entries that cannot be keyed (regex worlds, regex regions) stay in a shared list
+ * <p>
+ * Every bucket stores positions in the priority-sorted entry array, so a lookup is a merge
+ * of a few sorted int arrays and returns candidates already in priority order.
+ * The final matchesLocation check is still performed on each candidate.
+ */
+public final class SpawnEntryIndex {
+
+    // 128x128 blocks per grid cell
+    private static final int CELL_SHIFT = 7;
+
+    // Entries covering more cells than this are kept in the per-world unbounded list
+    private static final long MAX_CELLS_PER_ENTRY = 4096;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final SpawnEntry[] entries;
+    private final Map<SpawnEventType, EventBucket> events;
+
+    private SpawnEntryIndex(SpawnEntry[] entries, Map<SpawnEventType, EventBucket> events) {
+        this.entries = entries;
+        this.events = events;
+    }
+
+    public static SpawnEntryIndex empty() {
+        return new SpawnEntryIndex(new SpawnEntry[0], new EnumMap<>(SpawnEventType.class));
+    }
+
+    /**
+     * @param sortedEntries entries already sorted by priority (descending)
+     */
+    public static SpawnEntryIndex build(List<SpawnEntry> sortedEntries) {
+        SpawnEntry[] arr = sortedEntries.toArray(new SpawnEntry[0]);
+        Map<SpawnEventType, EventBucketBuilder> builders = new EnumMap<>(SpawnEventType.class);
+
+        for (int i = 0; i < arr.length; i++) {
+            SpawnEntry entry = arr[i];
+            for (SpawnEventType event : entry.scope()) {
+                builders.computeIfAbsent(event, k -> new EventBucketBuilder()).add(i, entry);
+            }
+        }
+
+        Map<SpawnEventType, EventBucket> events = new EnumMap<>(SpawnEventType.class);
+        for (var e : builders.entrySet()) {
+            events.put(e.getKey(), e.getValue().build());
+        }
+        return new SpawnEntryIndex(arr, events);
+    }
+
+    /**
+     * Returns entries for the event that match the location, in priority order.
+     */
+    public List<SpawnEntry> match(SpawnEventType eventType, Location location) {
+        if (eventType == null || location == null) return List.of();
+        World world = location.getWorld();
+        if (world == null) return List.of();
+
+        EventBucket bucket = events.get(eventType);
+        if (bucket == null) return List.of();
+
+        LocationMatchContext context = new LocationMatchContext(location);
+        List<int[]> sources = new ArrayList<>(4);
+        addSource(sources, bucket.anyWorld);
+
+        WorldBucket wb = bucket.worlds.get(world.getName());
+        if (wb != null) {
+            addSource(sources, wb.unbounded);
+            if (!wb.cells.isEmpty()) {
+                int cx = location.getBlockX() >> CELL_SHIFT;
+                int cz = location.getBlockZ() >> CELL_SHIFT;
+                addSource(sources, wb.cells.get(cellKey(cx, cz)));
+            }
+        }
+
+        // Exact-region entries: query regions once, then one map lookup per region id
+        if (!bucket.regions.isEmpty() && isWorldGuardEnabled()) {
+            for (String id : context.regions()) {
+                addSource(sources, bucket.regions.get(id));
+            }
+        }
+
+        return mergeAndMatch(sources, context);
+    }
+
+    /**
+     * K-way merge of sorted position arrays (k is small), testing each candidate once in priority order.
+     */
+    private List<SpawnEntry> mergeAndMatch(List<int[]> sources, LocationMatchContext context) {
+        int k = sources.size();
+        if (k == 0) return List.of();
+
+        int[] cursors = new int[k];
+        List<SpawnEntry> out = new ArrayList<>();
+        int last = -1;
+        while (true) {
+            int best = -1;
+            int next = Integer.MAX_VALUE;
+            for (int i = 0; i < k; i++) {
+                int[] src = sources.get(i);
+                if (cursors[i] < src.length && src[cursors[i]] < next) {
+                    next = src[cursors[i]];
+                    best = i;
+                }
+            }
+            if (best < 0) break;
+            cursors[best]++;
+            if (next == last) continue;
+            last = next;
+
+            SpawnEntry entry = entries[next];
+            if (entry.matchesLocation(context)) {
+                out.add(entry);
+            }
+        }
+        return out;
+    }
+
+    private static void addSource(List<int[]> sources, int[] positions) {
+        if (positions != null && positions.length > 0) {
+            sources.add(positions);
+        }
+    }
+
+    private static boolean isWorldGuardEnabled() {
+        MMOSpawnPoint plugin = MMOSpawnPoint.getInstance();
+        return plugin != null && plugin.isWorldGuardEnabled();
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    private static long cellKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    // ---------------- Buckets ----------------
+
+    private record EventBucket(int[] anyWorld, Map<String, WorldBucket> worlds, Map<String, int[]> regions) {
+    }
+
+    private record WorldBucket(int[] unbounded, Map<Long, int[]> cells) {
+    }
+
+    private static final class EventBucketBuilder {
+        final List<Integer> anyWorld = new ArrayList<>();
+        final Map<String, WorldBucketBuilder> worlds = new HashMap<>();
+        final Map<String, List<Integer>> regions = new HashMap<>();
+
+        void add(int position, SpawnEntry entry) {
+            String regionId = exactRegionOf(entry);
+            if (regionId != null) {
+                regions.computeIfAbsent(regionId, k -> new ArrayList<>()).add(position);
+                return;
+            }
+
+            String world = exactWorldOf(entry);
+            if (world == null) {
+                anyWorld.add(position);
+                return;
+            }
+
+            WorldBucketBuilder wb = worlds.computeIfAbsent(world, k -> new WorldBucketBuilder());
+            long[] bounds = (entry.trigger() != null) ? entry.trigger().blockBoundsXZ() : null;
+            if (bounds == null) {
+                wb.unbounded.add(position);
+                return;
+            }
+
+            int cx1 = (int) (bounds[0] >> CELL_SHIFT);
+            int cx2 = (int) (bounds[1] >> CELL_SHIFT);
+            int cz1 = (int) (bounds[2] >> CELL_SHIFT);
+            int cz2 = (int) (bounds[3] >> CELL_SHIFT);
+            long cells = (long) (cx2 - cx1 + 1) * (long) (cz2 - cz1 + 1);
+            if (cells > MAX_CELLS_PER_ENTRY) {
+                wb.unbounded.add(position);
+                return;
+            }
+
+            for (int cx = cx1; cx <= cx2; cx++) {
+                for (int cz = cz1; cz <= cz2; cz++) {
+                    wb.cells.computeIfAbsent(cellKey(cx, cz), k -> new ArrayList<>()).add(position);
+                }
+            }
+        }
+
+        EventBucket build() {
+            Map<String, WorldBucket> built = new HashMap<>();
+            for (var e : worlds.entrySet()) {
+                built.put(e.getKey(), e.getValue().build());
+            }
+            Map<String, int[]> byRegion = new HashMap<>();
+            for (var e : regions.entrySet()) {
+                byRegion.put(e.getKey(), toArray(e.getValue()));
+            }
+            return new EventBucket(toArray(anyWorld), built, byRegion);
+        }
+    }
+
+    private static final class WorldBucketBuilder {
+        final List<Integer> unbounded = new ArrayList<>();
+        final Map<Long, List<Integer>> cells = new HashMap<>();
+
+        WorldBucket build() {
+            Map<Long, int[]> built = new HashMap<>();
+            for (var e : cells.entrySet()) {
+                built.put(e.getKey(), toArray(e.getValue()));
+            }
+            return new WorldBucket(toArray(unbounded), built);
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        if (list.isEmpty()) return EMPTY;
+        int[] out = new int[list.size()];
+        for (int i = 0; i < out.length; i++) out[i] = list.get(i);
+        return out;
+    }
+
+    // ---------------- Keys ----------------
+
+    /**
+     * Exact world this entry is bound to, or null when it may match in any world (regex / unset).
+     */
+    private static String exactWorldOf(SpawnEntry entry) {
+        SpawnPointsConfig.SpawnPointEntry data = entry.spawnData();
+        if (data == null) return null;
+        return switch (entry.type()) {
+            case REGION -> ("*".equals(data.regionWorld)) ? null : exactOrNull(data.regionWorld, data.regionWorldMatchMode);
+            case WORLD -> exactOrNull(data.world, data.worldMatchMode);
+            case COORDINATE -> data.triggerArea == null ? null
+                    : exactOrNull(data.triggerArea.world, data.triggerArea.worldMatchMode);
+        };
+    }
+
+    /**
+     * Exact region id of a REGION entry, or null for regex/unset (those stay in the world/any-world lists).
+     */
+    private static String exactRegionOf(SpawnEntry entry) {
+        if (entry.type() != SpawnEntry.Type.REGION) return null;
+        SpawnPointsConfig.SpawnPointEntry data = entry.spawnData();
+        if (data == null) return null;
+        return exactOrNull(data.region, data.regionMatchMode);
+    }
+
+    private static String exactOrNull(String name, String mode) {
+        if (name == null) return null;
+        if (mode != null && mode.equalsIgnoreCase("regex")) return null;
+        return name;
+    }
+}
@@ -0,0 +1,44 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Spawn flow kind. Config values ("death" | "join" | "both") are resolved into this once at load.
+ */
+public enum SpawnEventType {
+    DEATH("death"),
+    JOIN("join");
+
+    private static final Set<SpawnEventType> ALL = Collections.unmodifiableSet(EnumSet.allOf(SpawnEventType.class));
+    private static final Set<SpawnEventType> ONLY_DEATH = Collections.unmodifiableSet(EnumSet.of(DEATH));
+    private static final Set<SpawnEventType> ONLY_JOIN = Collections.unmodifiableSet(EnumSet.of(JOIN));
+
+    /**
+     * Lowercase key used in configs and in MSPPreTeleportEvent / MSPPostTeleportEvent.
+     */
+    @Getter
+    private final String key;
+
+    SpawnEventType(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Resolves a spawn entry / party scope value into the set of events it applies to.
+     * Unknown or null values resolve to an empty set.
+     */
+    public static Set<SpawnEventType> scopeOf(String value) {
+        if (value == null) return Set.of();
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "death" -> ONLY_DEATH;
+            case "join" -> ONLY_JOIN;
+            case "both" -> ALL;
+            default -> Set.of();
+        };
+    }
+}
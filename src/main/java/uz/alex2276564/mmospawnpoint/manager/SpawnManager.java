@@ -1,9 +1,9 @@
 package uz.alex2276564.mmospawnpoint.manager;
 
-import io.papermc.lib.PaperLib;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -13,6 +13,8 @@ import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPoints
 import uz.alex2276564.mmospawnpoint.events.MSPPostTeleportEvent;
 import uz.alex2276564.mmospawnpoint.events.MSPPreTeleportEvent;
 import uz.alex2276564.mmospawnpoint.party.PartyManager;
+import uz.alex2276564.mmospawnpoint.utils.ChunkSnapshotSafeFinder;
+import uz.alex2276564.mmospawnpoint.utils.HeightmapCache;
 import uz.alex2276564.mmospawnpoint.utils.PlaceholderUtils;
 import uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder;
 import uz.alex2276564.mmospawnpoint.utils.SecurityUtils;
@@ -21,7 +23,10 @@ import uz.alex2276564.mmospawnpoint.utils.runner.TaskHandle;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import static uz.alex2276564.mmospawnpoint.utils.SafeLocationFinder.resolveMinY;
@@ -54,22 +59,103 @@ public class SpawnManager {
     private final Map<UUID, SafeSearchJob> activeSafeSearchJobs = new ConcurrentHashMap<>();
 
     // Safe Search parameters (from config)
-    private final int attemptsPerTick;
-    private final long timeBudgetNs;
+    // One global timer and per-tick budget for all safe-search jobs
+    @Getter
+    private final SafeSearchScheduler safeSearchScheduler;
+
+    // Bounded, de-duplicated chunk loads for safe search (chunks stay ticketed until the job ends)
+    @Getter
+    private final ChunkLoadService chunkLoads;
+
+    // Optional chunk pre-warm of all destinations/waiting rooms after startup and reload (settings.prewarm)
+    private final ChunkPrewarmer chunkPrewarmer;
 
     @Setter
     private PartyManager partyManager;
 
+    // Pre-validated safe spots for requireSafe area destinations (settings.safeSpotPool)
+    @Getter
+    private final SafeSpotPool safeSpotPool = new SafeSpotPool();
+    private TaskHandle poolRefillTask;
+    private int poolRefillCursor = 0;
+
+    // Compiled runtime plans keyed by destination identity; rebuilt on reload (destinations are re-created then)
+    private volatile Map<SpawnPointsConfig.Destination, DestinationPlan> destinationPlans = Collections.emptyMap();
+
+    // Weighted pickers keyed by destination list identity (one per spawn entry); rebuilt together with the plans
+    private volatile Map<List<SpawnPointsConfig.Destination>, DestinationSampler> destinationSamplers = Collections.emptyMap();
+
     public SpawnManager(MMOSpawnPoint plugin) {
         this.plugin = plugin;
-        var batch = plugin.getConfigManager().getMainConfig().settings.safeSearchBatch;
-        this.attemptsPerTick = Math.max(10, batch.attemptsPerTick);
-        this.timeBudgetNs = Math.max(1, batch.timeBudgetMillis) * 1_000_000L;
+        this.safeSearchScheduler = new SafeSearchScheduler(plugin);
+        this.chunkLoads = new ChunkLoadService(plugin);
+        this.chunkPrewarmer = new ChunkPrewarmer(plugin, chunkLoads);
+        rebuildDestinationPlans();
+        startPoolRefill();
+        chunkPrewarmer.restart(destinationPlans.values());
     }
 
     // ========== Lifecycle / housekeeping ==========
 
+    /**
+     * Called after configs were reloaded. Destination objects are re-created on reload,
+     * so plans are recompiled, pooled spots (keyed by destination identity) are dropped
+     * and refill and pre-warm restart with new settings.
+     */
+    public void onConfigReload() {
+        stopPoolRefill();
+        safeSpotPool.clear();
+        rebuildDestinationPlans();
+        startPoolRefill();
+        chunkPrewarmer.restart(destinationPlans.values());
+    }
+
+    private void rebuildDestinationPlans() {
+        Map<SpawnPointsConfig.Destination, DestinationPlan> plans = new IdentityHashMap<>();
+        Map<List<SpawnPointsConfig.Destination>, DestinationSampler> samplers = new IdentityHashMap<>();
+        int staticSamplers = 0;
+        List<SpawnEntry> entries = plugin.getConfigManager().getAllSpawnEntries();
+        for (SpawnEntry entry : (entries != null) ? entries : List.<SpawnEntry>of()) {
+            if (entry.spawnData() == null || entry.spawnData().destinations == null) continue;
+            List<SpawnPointsConfig.Destination> destinations = entry.spawnData().destinations;
+            for (SpawnPointsConfig.Destination d : destinations) {
+                if (d != null) {
+                    plans.computeIfAbsent(d, DestinationPlan::compile);
+                }
+            }
+            if (destinations.size() > 1 && !samplers.containsKey(destinations)) {
+                DestinationSampler sampler = DestinationSampler.compile(destinations);
+                samplers.put(destinations, sampler);
+                if (!sampler.isDynamic()) staticSamplers++;
+            }
+        }
+        destinationPlans = Collections.unmodifiableMap(plans);
+        destinationSamplers = Collections.unmodifiableMap(samplers);
+        if (isDebug()) {
+            plugin.getLogger().info("Compiled " + plans.size() + " destination plans and "
+                    + samplers.size() + " weighted samplers (" + staticSamplers + " static)");
+        }
+    }
+
+    /**
+     * Compiled plan for a destination; destinations outside the current config (should not happen) are compiled on demand.
+     */
+    private DestinationPlan planFor(SpawnPointsConfig.Destination destination) {
+        DestinationPlan plan = destinationPlans.get(destination);
+        return (plan != null) ? plan : DestinationPlan.compile(destination);
+    }
+
+    /**
+     * Compiled sampler for a destination list; lists outside the current config are compiled on demand.
+     */
+    private DestinationSampler samplerFor(List<SpawnPointsConfig.Destination> destinations) {
+        DestinationSampler sampler = destinationSamplers.get(destinations);
+        return (sampler != null) ? sampler : DestinationSampler.compile(destinations);
+    }
+
     public void cleanup() {
+        stopPoolRefill();
+        safeSpotPool.clear();
         for (SafeSearchJob job : activeSafeSearchJobs.values()) {
             try {
                 job.cancel();
@@ -77,6 +163,9 @@ public class SpawnManager {
             }
         }
         activeSafeSearchJobs.clear();
+        safeSearchScheduler.shutdown();
+        chunkPrewarmer.stop();
+        chunkLoads.clear();
         pendingWaitingRoomActions.clear();
         pendingAfterActions.clear();
         deathLocations.clear();
@@ -136,15 +225,15 @@ public class SpawnManager {
 
                 Location partyLocation = partyManager.findPartyJoinLocation(player);
                 if (partyLocation != null && partyLocation != PartyManager.FALLBACK_TO_NORMAL_SPAWN_MARKER) {
-                    teleportPlayerWithDelay(player, partyLocation, "join");
+                    teleportPlayerWithDelay(player, partyLocation, SpawnEventType.JOIN);
                     return true;
                 }
             }
 
             // Normal rules
-            Location joinLocation = findSpawnLocationByPriority("join", player.getLocation(), player);
+            Location joinLocation = findSpawnLocationByPriority(SpawnEventType.JOIN, player.getLocation(), player);
             if (joinLocation != null) {
-                teleportPlayerWithDelay(player, joinLocation, "join");
+                teleportPlayerWithDelay(player, joinLocation, SpawnEventType.JOIN);
                 return true;
             }
 
@@ -201,7 +290,7 @@ public class SpawnManager {
             }
 
             // Normal MSP join rules (world/region/coordinate entries)
-            Location joinLocation = findSpawnLocationByPriority("join", baseSpawnLocation, player);
+            Location joinLocation = findSpawnLocationByPriority(SpawnEventType.JOIN, baseSpawnLocation, player);
             if (joinLocation != null) {
                 if (isDebug()) {
                     plugin.getLogger().info("Using MSP join spawn location for "
@@ -257,15 +346,15 @@ public class SpawnManager {
                         plugin.getLogger().info("Using party respawn location for "
                                 + player.getName() + ": " + locationToString(partyLocation));
                     }
-                    teleportPlayerWithDelay(player, partyLocation, "death");
+                    teleportPlayerWithDelay(player, partyLocation, SpawnEventType.DEATH);
                     return true;
                 }
             }
 
             // Normal rules
-            Location spawnLocation = findSpawnLocationByPriority("death", deathLocation, player);
+            Location spawnLocation = findSpawnLocationByPriority(SpawnEventType.DEATH, deathLocation, player);
             if (spawnLocation != null) {
-                teleportPlayerWithDelay(player, spawnLocation, "death");
+                teleportPlayerWithDelay(player, spawnLocation, SpawnEventType.DEATH);
                 return true;
             }
 
@@ -294,7 +383,7 @@ public class SpawnManager {
     /**
      * Returns final location or waiting-room location if requireSafe=true (async search will continue).
      */
-    public Location findSpawnLocationByPriority(String eventType, Location referenceLocation, Player player) {
+    public Location findSpawnLocationByPriority(SpawnEventType eventType, Location referenceLocation, Player player) {
         List<SpawnEntry> matchingEntries = plugin.getConfigManager().getMatchingSpawnEntries(eventType, referenceLocation);
 
         if (isDebug()) {
@@ -302,13 +391,16 @@ public class SpawnManager {
                     + " matching spawn entries for " + eventType);
         }
 
+        // Placeholder/permission answers are shared by all entries checked in this resolution
+        PlayerConditionContext conditions = new PlayerConditionContext(player);
+
         for (SpawnEntry entry : matchingEntries) {
             if (isDebug()) {
                 plugin.getLogger().info("Checking spawn entry with priority "
                         + entry.calculatedPriority() + " from " + entry.fileName());
             }
 
-            Location spawnLocation = processSpawnEntry(entry, player, eventType);
+            Location spawnLocation = processSpawnEntry(entry, conditions, eventType);
             if (spawnLocation != null) {
                 if (isDebug()) {
                     plugin.getLogger().info("Selected spawn entry with priority "
@@ -320,9 +412,9 @@ public class SpawnManager {
         return null;
     }
 
-    private Location processSpawnEntry(SpawnEntry entry, Player player, String eventType) {
+    private Location processSpawnEntry(SpawnEntry entry, PlayerConditionContext context, SpawnEventType eventType) {
         SpawnPointsConfig.SpawnPointEntry data = entry.spawnData();
-        return processEntry(player, data.conditions, data.destinations, data.actions, data.waitingRoom, eventType);
+        return processEntry(context, data.conditions, data.destinations, data.actions, data.waitingRoom, eventType);
     }
 
     /**
@@ -332,28 +424,29 @@ public class SpawnManager {
      * - else => return final (possibly unsafe) location, and remember AFTER phase
      */
     private Location processEntry(
-            Player player,
+            PlayerConditionContext context,
             SpawnPointsConfig.ConditionsConfig conditions,
             List<SpawnPointsConfig.Destination> destinations,
             SpawnPointsConfig.ActionsConfig globalActions,
             SpawnPointsConfig.WaitingRoomConfig entryWaitingRoom,
-            String eventType
+            SpawnEventType eventType
     ) {
+        Player player = context.player();
         if (isDebug()) {
             plugin.getLogger().info("processEntry eventType=" + eventType);
         }
 
-        if (conditionsNotMet(player, conditions)) {
+        if (conditionsNotMet(context, conditions)) {
             return null;
         }
 
         // Actions-only entry (no teleport)
         if (destinations == null || destinations.isEmpty()) {
-            runPhaseForActions(player, globalActions, SpawnPointsConfig.Phase.AFTER);
+            runPhaseForActions(context, globalActions, SpawnPointsConfig.Phase.AFTER);
             return null;
         }
 
-        SpawnPointsConfig.Destination selected = selectDestination(player, destinations);
+        SpawnPointsConfig.Destination selected = selectDestination(context, destinations);
         if (selected == null) return null;
 
         boolean requireSafe = selected.requireSafe;
@@ -363,6 +456,24 @@ public class SpawnManager {
         boolean hasMultipleDestinations = destinations.size() > 1;
 
         if (useWaitingRoom) {
+            // Steady state for hot area destinations: a pooled spot is re-validated and used directly
+            Location pooled = takePooledSpotLocal(selected);
+            if (pooled != null) {
+                if (isDebug()) {
+                    plugin.getLogger().info("processEntry: using pooled safe spot for eventType=" + eventType);
+                }
+                // Supersede a search still running from an earlier spawn, like starting a new job does;
+                // otherwise it would later teleport the player again and repeat its phases
+                cancelSafeSearchJob(player.getUniqueId());
+                pendingWaitingRoomActions.remove(player.getUniqueId());
+
+                if (!shouldDeferBeforePhaseForJoin(eventType)) {
+                    runPhaseForEntry(context, selected, globalActions, SpawnPointsConfig.Phase.BEFORE);
+                }
+                pendingAfterActions.put(player.getUniqueId(), new PendingEntry(selected, globalActions));
+                return pooled;
+            }
+
             if (isDebug()) {
                 plugin.getLogger().info("processEntry: using waiting room for eventType=" + eventType);
             }
@@ -373,7 +484,7 @@ public class SpawnManager {
 
             // Normal case: run BEFORE immediately
             if (!deferBefore) {
-                runPhaseForEntry(player, selected, globalActions, SpawnPointsConfig.Phase.BEFORE);
+                runPhaseForEntry(context, selected, globalActions, SpawnPointsConfig.Phase.BEFORE);
             }
 
             // Defer WAITING_ROOM (and possibly BEFORE) until the player is actually in the waiting room
@@ -416,12 +527,11 @@ public class SpawnManager {
 
         // For join + setSpawnLocation flows, BEFORE inside PlayerSpawnLocationEvent is often invisible.
         // In that case we defer BEFORE until after the player actually appears in the world.
-        boolean deferBeforeForJoin = shouldDeferBeforePhaseForJoin(eventType)
-                && "join".equalsIgnoreCase(eventType);
+        boolean deferBeforeForJoin = shouldDeferBeforePhaseForJoin(eventType);
 
         if (!deferBeforeForJoin) {
             // Normal case: BEFORE runs immediately
-            runPhaseForEntry(player, selected, globalActions, SpawnPointsConfig.Phase.BEFORE);
+            runPhaseForEntry(context, selected, globalActions, SpawnPointsConfig.Phase.BEFORE);
         }
 
         Location finalLoc = resolveNonSafeLocation(selected);
@@ -432,10 +542,10 @@ public class SpawnManager {
         return finalLoc;
     }
 
-    private boolean shouldScheduleWaitingRoomPhase(String eventType) {
+    private boolean shouldScheduleWaitingRoomPhase(SpawnEventType eventType) {
         var mainCfg = plugin.getConfigManager().getMainConfig();
 
-        if ("death".equalsIgnoreCase(eventType)) {
+        if (eventType == SpawnEventType.DEATH) {
             return mainCfg.settings.teleport.useSetRespawnLocationForDeath;
         }
 
@@ -449,8 +559,8 @@ public class SpawnManager {
      * inside PlayerSpawnLocationEvent are often not visible to the player.
      * In that case we defer BEFORE until the player is actually online.
      */
-    private boolean shouldDeferBeforePhaseForJoin(String eventType) {
-        if (!"join".equalsIgnoreCase(eventType)) {
+    private boolean shouldDeferBeforePhaseForJoin(SpawnEventType eventType) {
+        if (eventType != SpawnEventType.JOIN) {
             return false;
         }
         var mainCfg = plugin.getConfigManager().getMainConfig();
@@ -496,16 +606,20 @@ public class SpawnManager {
 
     // ========== Destination selection / conditions ==========
 
-    private SpawnPointsConfig.Destination selectDestination(Player player, List<SpawnPointsConfig.Destination> options) {
+    private SpawnPointsConfig.Destination selectDestination(PlayerConditionContext context, List<SpawnPointsConfig.Destination> options) {
         if (options.size() == 1) return options.get(0);
 
-        // 1) Compute effective weights once
-        List<Integer> weights = new ArrayList<>(options.size());
-        int total = 0;
-        for (SpawnPointsConfig.Destination opt : options) {
-            int w = getEffectiveWeight(player, opt);
-            weights.add(w);
-            total += w;
+        DestinationSampler sampler = samplerFor(options);
+
+        // 1) Static weights come precompiled; player-dependent ones are computed once per call
+        int[] weights;
+        if (sampler.isDynamic()) {
+            weights = new int[options.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = getEffectiveWeight(context, options.get(i));
+            }
+        } else {
+            weights = sampler.baseWeights();
         }
 
         // 2) Debug log of weights (after conditions)
@@ -514,7 +628,7 @@ public class SpawnManager {
             sb.append("[MMOSpawnPoint] Destination weights (after conditions): ");
             for (int i = 0; i < options.size(); i++) {
                 SpawnPointsConfig.Destination opt = options.get(i);
-                int w = weights.get(i);
+                int w = weights[i];
                 sb.append("#").append(i + 1)
                         .append("{world=").append(opt.world)
                         .append(", requireSafe=").append(opt.requireSafe)
@@ -525,27 +639,15 @@ public class SpawnManager {
             plugin.getLogger().info(sb.toString());
         }
 
-        if (total <= 0) return null;
-
-        // 3) Weighted pick using precomputed weights
-        int rnd = ThreadLocalRandom.current().nextInt(total);
-        int acc = 0;
-        for (int i = 0; i < options.size(); i++) {
-            acc += weights.get(i);
-            if (rnd < acc) {
-                return options.get(i);
-            }
-        }
-        // Fallback
-        return options.get(0);
+        // 3) Weighted pick: O(1) alias lookup for static lists, cumulative scan otherwise
+        return sampler.isDynamic() ? sampler.sample(weights) : sampler.sample();
     }
 
-    private int getEffectiveWeight(Player player, SpawnPointsConfig.Destination option) {
+    private int getEffectiveWeight(PlayerConditionContext context, SpawnPointsConfig.Destination option) {
         int weight = option.weight;
         if (option.weightConditions != null) {
-            boolean bypass = player.isOp() || player.hasPermission("*");
             for (SpawnPointsConfig.WeightConditionEntry cond : option.weightConditions) {
-                if (!matchesCondition(player, cond.type, cond.value, bypass)) {
+                if (!matchesCondition(context, cond.type, cond.value)) {
                     continue;
                 }
 
@@ -561,14 +663,12 @@ public class SpawnManager {
         return weight;
     }
 
-    private boolean conditionsNotMet(Player player, SpawnPointsConfig.ConditionsConfig conditions) {
+    private boolean conditionsNotMet(PlayerConditionContext context, SpawnPointsConfig.ConditionsConfig conditions) {
         if (conditions == null) return false;
 
-        boolean bypass = player.isOp() || player.hasPermission("*");
-
         if (conditions.permissions != null && !conditions.permissions.isEmpty()) {
             for (String permissionExpr : conditions.permissions) {
-                if (!PlaceholderUtils.evaluatePermissionExpression(player, permissionExpr, bypass)) {
+                if (!context.evaluatePermissionExpression(permissionExpr)) {
                     return true;
                 }
             }
@@ -576,7 +676,7 @@ public class SpawnManager {
 
         if (conditions.placeholders != null && !conditions.placeholders.isEmpty() && plugin.isPlaceholderAPIEnabled()) {
             for (String placeholderExpr : conditions.placeholders) {
-                if (!PlaceholderUtils.checkPlaceholderCondition(player, placeholderExpr)) {
+                if (!context.checkPlaceholderCondition(placeholderExpr)) {
                     return true;
                 }
             }
@@ -587,7 +687,7 @@ public class SpawnManager {
 
     // ========== Waiting-room: async safe-location search job ==========
 
-    private void startBatchedLocationSearchForSelected(Player player, SpawnPointsConfig.Destination selected, SpawnPointsConfig.ActionsConfig global, long entered, boolean hasMultiple, String event) {
+    private void startBatchedLocationSearchForSelected(Player player, SpawnPointsConfig.Destination selected, SpawnPointsConfig.ActionsConfig global, long entered, boolean hasMultiple, SpawnEventType event) {
         UUID pid = player.getUniqueId();
         SafeSearchJob newJob = new SafeSearchJob(player, selected, global, entered, hasMultiple, event);
 
@@ -615,26 +715,26 @@ public class SpawnManager {
     }
 
     /**
-     * One async search job per player while they are in the waiting room.
+     * One async search job per player while they are in the waiting room, driven by {@link SafeSearchScheduler}.
      * <p>
      * Paper:
-     * - Multiple attempts per tick on the main thread within timeBudgetNs
+     * - Multiple attempts per tick on the main thread within the share of the global budget granted by the scheduler
      * Folia:
-     * - Exactly one attempt per tick; we schedule that attempt on the region owning the candidate location (runAtLocation)
+     * - Up to foliaParallelAttempts attempts in flight, each scheduled on the region owning its candidate location (runAtLocation);
+     *   the first success wins
      */
-    private final class SafeSearchJob {
+    private final class SafeSearchJob implements SafeSearchScheduler.Job {
 
         final Player player;
         final UUID playerId;
         final SpawnPointsConfig.Destination option;
+        final DestinationPlan plan;
         final SpawnPointsConfig.ActionsConfig globalActions;
         final long waitingEnteredAtMs;
-        final String eventType;
+        final SpawnEventType eventType;
 
-        // Chunk-loading state (used by attemptInRect)
-        int pendingChunkX = Integer.MIN_VALUE;
-        int pendingChunkZ = Integer.MIN_VALUE;
-        boolean waitingChunkLoad = false;
+        // Paper: a chunk load is pending; its callback resumes the search
+        volatile boolean waitingChunkLoad = false;
 
         final World world;
         final boolean isPoint;
@@ -654,12 +754,19 @@ public class SpawnManager {
         int failGroundBlacklisted = 0;
         int failGroundNotWhitelisted = 0;
 
-        // Runner task handle
-        private TaskHandle handle;
-        private volatile boolean attemptInProgress = false;
+        // Folia: region attempts currently scheduled/running, and the first-success latch shared by them
+        private final AtomicInteger regionAttemptsInFlight = new AtomicInteger();
+        private final AtomicBoolean resultClaimed = new AtomicBoolean(false);
+        final int parallelRegionAttempts;
+        private volatile boolean finished = false;
+        private boolean poolChecked = false;
 
-        // Precomputed include/exclude rects for area search
-        final List<Rect> includeRects;
+        // Snapshot mode (area destinations only): one chunk snapshot evaluated off-thread at a time
+        final boolean snapshotSearch;
+        private volatile boolean snapshotInFlight = false;
+
+        // Sampling boxes/exclude rects from the destination plan (null while the world is not loaded)
+        final DestinationPlan.Geometry geometry;
         final List<Rect> excludeRects;
 
         SafeSearchJob(Player p,
@@ -667,27 +774,22 @@ public class SpawnManager {
                       SpawnPointsConfig.ActionsConfig globalActions,
                       long waitingEnteredAtMs,
                       boolean areaMultiple,
-                      String eventType) {
+                      SpawnEventType eventType) {
             this.player = p;
             this.playerId = p.getUniqueId();
             this.option = option;
+            this.plan = planFor(option);
             this.globalActions = globalActions;
             this.waitingEnteredAtMs = waitingEnteredAtMs;
-            this.eventType = eventType.toLowerCase(Locale.ROOT);
+            this.eventType = eventType;
 
-            this.world = Bukkit.getWorld(option.world);
-            this.isPoint = isPointOption(option);
+            this.geometry = plan.geometry();
+            this.world = (geometry != null) ? geometry.world() : null;
+            this.isPoint = plan.point;
             this.currentRadius = plugin.getConfigManager().getMainConfig().settings.safeLocationRadius;
             this.attemptCount = 0;
 
-            // Build rects only if world is present
-            if (this.world != null) {
-                this.includeRects = buildRectsForOption(option, world);
-                this.excludeRects = toRects(option.excludeRects, world);
-            } else {
-                this.includeRects = Collections.emptyList();
-                this.excludeRects = Collections.emptyList();
-            }
+            this.excludeRects = (geometry != null) ? geometry.exclude() : Collections.emptyList();
 
             // Determine cache profile from main config
             var cacheCfg = plugin.getConfigManager().getMainConfig().settings.safeLocationCache.spawnTypeCaching;
@@ -721,21 +823,42 @@ public class SpawnManager {
             this.cacheEnabled = cEnabled;
             this.cachePlayerSpecific = cPlayerSpecific;
             this.cacheTypeTag = cTag;
+
+            this.snapshotSearch = !isPoint
+                    && plugin.getConfigManager().getMainConfig().settings.safeSearchBatch.chunkSnapshotSearch;
+
+            // Fixed points always probe the same spot (and grow the near-search radius), so they stay serial
+            this.parallelRegionAttempts = isPoint ? 1
+                    : Math.max(1, plugin.getConfigManager().getMainConfig().settings.safeSearchBatch.foliaParallelAttempts);
         }
 
         void start() {
-            handle = plugin.getRunner().runGlobalTimer(this::tick, 1L, 1L);
+            safeSearchScheduler.submit(this);
         }
 
         void cancel() {
-            if (handle != null) handle.cancel();
+            finished = true;
+            chunkLoads.release(this);
+        }
+
+        @Override
+        public long waitingSinceMs() {
+            return waitingEnteredAtMs;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
         }
 
-        private void tick() {
+        @Override
+        public boolean prepare() {
+            if (finished) return false;
             try {
-                if (world == null) {
+                // Unloaded world, or an area destination excluded everywhere
+                if (world == null || (!isPoint && geometry.isEmpty())) {
                     finish(null, false);
-                    return;
+                    return false;
                 }
 
                 // Timeout — should work even if the player is not yet considered online
@@ -753,63 +876,135 @@ public class SpawnManager {
                         );
                     }
                     finish(null, false);
-                    return;
+                    return false;
                 }
 
                 // If the player is not yet online
                 if (!player.isOnline()) {
                     // For join scenarios (PlayerSpawnLocationEvent), the player may not be online yet.
                     // In this case, we simply wait for the next tick (or until the timeout/quit cleanup triggers).
-                    if ("join".equals(this.eventType)) {
-                        return;
+                    if (this.eventType == SpawnEventType.JOIN) {
+                        return false;
                     }
                     // For death and other scenarios — exit immediately.
                     finish(null, false);
-                    return;
+                    return false;
                 }
 
-                if (plugin.getRunner().isFolia()) {
-                    // Folia: do one attempt per tick on the proper region thread
-                    if (attemptInProgress) return;
-                    attemptInProgress = true;
-                    attemptCount++;
+                // Folia: the first tick tries a pooled spot (Paper already did in processEntry)
+                if (!poolChecked && plugin.getRunner().isFolia()) {
+                    poolChecked = true;
+                    if (tryPooledSpotInRegion()) return false;
+                }
 
-                    // Choose candidate location (no world access on global thread)
-                    final Location candidateRegionLoc = chooseCandidateRegionLocation();
+                // Only one snapshot / region attempt in flight at a time; nothing to spend budget on meanwhile
+                if (snapshotSearch) return !snapshotInFlight;
+                if (plugin.getRunner().isFolia()) return regionAttemptsInFlight.get() < parallelRegionAttempts;
+                return !waitingChunkLoad;
+            } catch (Throwable t) {
+                failFatal(t);
+                return false;
+            }
+        }
 
-                    plugin.getRunner().runAtLocation(candidateRegionLoc, () -> {
-                        try {
-                            Location found = singleAttemptInRegion(candidateRegionLoc);
-                            if (found != null) {
-                                plugin.getRunner().runGlobal(() -> finish(found, true));
-                            }
-                        } finally {
-                            attemptInProgress = false;
-                        }
-                    });
+        @Override
+        public int run(int maxAttempts, long deadlineNs) {
+            try {
+                if (snapshotSearch) {
+                    snapshotInFlight = true;
+                    attemptCount++;
+                    startSnapshotAttempt();
+                    return 1;
+                }
 
-                } else {
-                    // Paper: burst multiple attempts within the time budget on main thread
-                    long endBy = System.nanoTime() + timeBudgetNs;
-                    int attemptsThisTick = 0;
-
-                    while (attemptsThisTick < attemptsPerTick && System.nanoTime() < endBy) {
-                        attemptsThisTick++;
-                        attemptCount++;
-
-                        Location found = singleAttemptLocal();
-                        if (found != null) {
-                            finish(found, true);
-                            return;
+                if (plugin.getRunner().isFolia()) {
+                    // Folia: fan out up to parallelRegionAttempts candidate chunks, each on its owning region thread
+                    int slots = Math.min(maxAttempts, parallelRegionAttempts - regionAttemptsInFlight.get());
+                    Set<Long> chunks = (slots > 1) ? new HashSet<>() : null;
+                    int dispatched = 0;
+
+                    for (int i = 0; i < slots; i++) {
+                        // Choose candidate location (no world access on global thread)
+                        Location candidate = chooseCandidateRegionLocation();
+                        if (chunks != null) {
+                            long key = ((long) (candidate.getBlockX() >> 4) << 32) ^ ((candidate.getBlockZ() >> 4) & 0xffffffffL);
+                            if (!chunks.add(key)) continue;
                         }
+                        dispatchRegionAttempt(candidate);
+                        dispatched++;
                     }
+                    return Math.max(1, dispatched);
                 }
+
+                // Paper: burst attempts within the granted share of the tick budget on main thread
+                int attemptsThisTick = 0;
+                do {
+                    attemptsThisTick++;
+                    attemptCount++;
+
+                    Location found = singleAttemptLocal();
+                    if (found != null) {
+                        finish(found, true);
+                        break;
+                    }
+                } while (!waitingChunkLoad && attemptsThisTick < maxAttempts && System.nanoTime() < deadlineNs);
+                return attemptsThisTick;
             } catch (Throwable t) {
-                plugin.getLogger().severe("[SafeSearchJob] tick fatal: " + t.getMessage());
-                try {
-                    finish(null, false);
-                } catch (Exception ignored) {
+                failFatal(t);
+                return 1;
+            }
+        }
+
+        /**
+         * Folia: one attempt on the region owning the candidate. The first success claims the result;
+         * attempts that start after that are skipped and later successes are discarded.
+         */
+        private void dispatchRegionAttempt(Location candidate) {
+            regionAttemptsInFlight.incrementAndGet();
+            attemptCount++;
+
+            plugin.getRunner().runAtLocation(candidate, () -> runRegionAttempt(candidate, true));
+        }
+
+        /**
+         * Region thread owning the candidate. An unloaded chunk is requested from chunkLoads once;
+         * the attempt then resumes from the load callback and stays in flight until it completes.
+         */
+        private void runRegionAttempt(Location candidate, boolean mayLoad) {
+            boolean done = true;
+            try {
+                if (finished || resultClaimed.get()) return;
+
+                int cx = candidate.getBlockX() >> 4;
+                int cz = candidate.getBlockZ() >> 4;
+                if (!world.isChunkLoaded(cx, cz)) {
+                    if (mayLoad) {
+                        done = false;
+                        chunkLoads.acquire(this, world, cx, cz, ok -> {
+                            if (ok) {
+                                runRegionAttempt(candidate, false);
+                            } else {
+                                regionAttemptsInFlight.decrementAndGet();
+                            }
+                        });
+                    }
+                    return;
                 }
+
+                Location found = singleAttemptInRegion(candidate);
+                if (found != null && resultClaimed.compareAndSet(false, true)) {
+                    plugin.getRunner().runGlobal(() -> finish(found, true));
+                }
+            } finally {
+                if (done) regionAttemptsInFlight.decrementAndGet();
+            }
+        }
+
+        private void failFatal(Throwable t) {
+            plugin.getLogger().severe("[SafeSearchJob] tick fatal: " + t.getMessage());
+            try {
+                finish(null, false);
+            } catch (Exception ignored) {
             }
         }
 
@@ -826,15 +1021,10 @@ public class SpawnManager {
                 return new Location(world, x, y, z);
             }
 
-            Rect rect = includeRects.isEmpty() ? rectFromAxesOption(option, world) : pickRect(includeRects);
-
-            double rxMinX = Math.min(rect.minX(), rect.maxX());
-            double rxMaxX = Math.max(rect.minX(), rect.maxX());
-            double rzMinZ = Math.min(rect.minZ(), rect.maxZ());
-            double rzMaxZ = Math.max(rect.minZ(), rect.maxZ());
+            Rect rect = geometry.pick();
 
-            double x = ThreadLocalRandom.current().nextDouble(rxMinX, rxMaxX);
-            double z = ThreadLocalRandom.current().nextDouble(rzMinZ, rzMaxZ);
+            double x = rect.randomX();
+            double z = rect.randomZ();
 
             int cx = ((int) Math.floor(x)) >> 4;
             int cz = ((int) Math.floor(z)) >> 4;
@@ -846,33 +1036,121 @@ public class SpawnManager {
             return new Location(world, centerX, centerY, centerZ);
         }
 
+        /**
+         * Snapshot attempt (global thread): pick a chunk inside the area, make sure it is loaded,
+         * then continue on the thread owning that chunk.
+         */
+        private void startSnapshotAttempt() {
+            Rect rect = geometry.pick();
+
+            double x = rect.randomX();
+            double z = rect.randomZ();
+            int cx = ((int) Math.floor(x)) >> 4;
+            int cz = ((int) Math.floor(z)) >> 4;
+
+            Location chunkCenter = new Location(world, (cx << 4) + 8.0, rect.minY(), (cz << 4) + 8.0);
+
+            plugin.getRunner().runAtLocation(chunkCenter, () -> {
+                if (finished) return;
+                if (world.isChunkLoaded(cx, cz)) {
+                    snapshotAndEvaluate(rect, cx, cz);
+                    return;
+                }
+                chunkLoads.acquire(this, world, cx, cz, ok -> {
+                    if (!ok || finished) {
+                        snapshotInFlight = false;
+                        return;
+                    }
+                    snapshotAndEvaluate(rect, cx, cz);
+                });
+            });
+        }
+
+        /**
+         * Owning thread: take the snapshot, evaluate it on an async worker,
+         * and confirm the candidate live on the owning thread before finishing.
+         */
+        private void snapshotAndEvaluate(Rect rect, int cx, int cz) {
+            if (finished) return;
+
+            int minBX = Math.max((int) Math.floor(rect.minX()), cx << 4);
+            int maxBX = Math.min((int) Math.floor(rect.maxX()), (cx << 4) + 15);
+            int minBZ = Math.max((int) Math.floor(rect.minZ()), cz << 4);
+            int maxBZ = Math.min((int) Math.floor(rect.maxZ()), (cz << 4) + 15);
+            if (minBX > maxBX || minBZ > maxBZ) {
+                snapshotInFlight = false;
+                return;
+            }
+
+            ChunkSnapshot snapshot;
+            try {
+                snapshot = world.getChunkAt(cx, cz).getChunkSnapshot(true, false, false);
+            } catch (Exception e) {
+                snapshotInFlight = false;
+                return;
+            }
+
+            int worldMinY = resolveMinY(world);
+            int worldMaxY = world.getMaxHeight();
+            int minY = (int) Math.floor(rect.minY());
+            int maxY = (int) Math.floor(rect.maxY());
+            boolean nether = world.getEnvironment() == World.Environment.NETHER;
+            Set<Material> wl = plan.groundWhitelist.materials();
+
+            plugin.getRunner().runAsync(() -> {
+                int[] hit = ChunkSnapshotSafeFinder.findSafeInChunk(
+                        snapshot, worldMinY, worldMaxY,
+                        minBX, maxBX, minBZ, maxBZ, minY, maxY,
+                        nether, wl,
+                        (bx, by, bz) -> isOutsideAny(bx + 0.5, by, bz + 0.5, excludeRects)
+                );
+                if (hit == null || finished) {
+                    snapshotInFlight = false;
+                    return;
+                }
+
+                Location candidate = new Location(world, hit[0] + 0.5, hit[1], hit[2] + 0.5);
+                plugin.getRunner().runAtLocation(candidate, () -> {
+                    if (!finished && SafeLocationFinder.isSafeLocation(candidate, wl)) {
+                        applyYawPitch(option, candidate);
+                        plugin.getRunner().runGlobal(() -> finish(candidate, true));
+                    } else {
+                        snapshotInFlight = false;
+                    }
+                });
+            });
+        }
+
         /**
          * Paper attempt: safe to read world on main thread.
          */
         private Location singleAttemptLocal() {
-            SafeLocationFinder.YSelectionOverride yov = buildYOverride(option);
+            SafeLocationFinder.YSelectionOverride yov = plan.yOverride;
 
             if (isPoint) {
                 double x = option.x.value;
                 double z = option.z.value;
-                double y = (option.y != null && option.y.isValue())
-                        ? option.y.value
-                        : world.getHighestBlockYAt((int) Math.floor(x), (int) Math.floor(z)) + 1.0;
-                Location base = new Location(world, x, y, z);
 
-                // Ensure chunk is loaded
-                if (!world.isChunkLoaded(base.getBlockX() >> 4, base.getBlockZ() >> 4)) {
-                    PaperLib.getChunkAtAsync(base, true).thenRun(() -> {
-                    });
+                // Ensure chunk is loaded before reading heights; the load callback retries right away
+                int cx = ((int) Math.floor(x)) >> 4;
+                int cz = ((int) Math.floor(z)) >> 4;
+                if (!world.isChunkLoaded(cx, cz)) {
+                    waitingChunkLoad = true;
+                    chunkLoads.acquire(this, world, cx, cz, ok -> resumeAfterChunkLoadLocal(ok, this::singleAttemptLocal));
                     return null;
                 }
 
-                Set<Material> wl = toMaterialSet(option.groundWhitelist);
+                double y = (option.y != null && option.y.isValue())
+                        ? option.y.value
+                        : HeightmapCache.highestBlockY(world, (int) Math.floor(x), (int) Math.floor(z)) + 1.0;
+                Location base = new Location(world, x, y, z);
+
+                SafeLocationFinder.GroundWhitelist wl = plan.groundWhitelist;
                 String tag = getCacheTypeTag();
                 Location found = SafeLocationFinder.withYSelectionOverride(yov, () ->
                         cacheEnabled
                                 ? SafeLocationFinder.cachedFindSafeNear(base, currentRadius, wl, playerId, cachePlayerSpecific, true, tag, null)
-                                : SafeLocationFinder.attemptSafeNearOnce(base, currentRadius, wl)
+                                : SafeLocationFinder.attemptSafeNearOnce(base, currentRadius, wl.materials())
                 );
 
                 if (found == null) {
@@ -885,9 +1163,9 @@ public class SpawnManager {
 
             } else {
                 // Area path
-                Rect rect = includeRects.isEmpty() ? rectFromAxesOption(option, world) : pickRect(includeRects);
+                Rect rect = geometry.pick();
                 Location found = SafeLocationFinder.withYSelectionOverride(yov, () ->
-                        attemptInRectLocal(rect, excludeRects, toMaterialSet(option.groundWhitelist))
+                        attemptInRectLocal(rect, excludeRects, plan.groundWhitelist)
                 );
                 if (found == null) {
                     bumpFailCounters();
@@ -905,36 +1183,28 @@ public class SpawnManager {
          */
         // SafeSearchJob method
         private Location singleAttemptInRegion(Location regionLoc) {
-            SafeLocationFinder.YSelectionOverride yov = buildYOverride(option);
+            SafeLocationFinder.YSelectionOverride yov = plan.yOverride;
 
             if (isPoint) {
                 double x = option.x.value;
                 double z = option.z.value;
 
-                int cx = ((int) Math.floor(x)) >> 4;
-                int cz = ((int) Math.floor(z)) >> 4;
-
-                if (!world.isChunkLoaded(cx, cz)) {
-                    double px = (cx << 4) + 8.0;
-                    double pz = (cz << 4) + 8.0;
-                    Location probe = new Location(world, px, regionLoc.getY(), pz);
-                    PaperLib.getChunkAtAsync(probe, true).thenRun(() -> {
-                    });
+                if (!world.isChunkLoaded(((int) Math.floor(x)) >> 4, ((int) Math.floor(z)) >> 4)) {
                     return null;
                 }
 
                 double y = (option.y != null && option.y.isValue())
                         ? option.y.value
-                        : world.getHighestBlockYAt((int) Math.floor(x), (int) Math.floor(z)) + 1.0;
+                        : HeightmapCache.highestBlockY(world, (int) Math.floor(x), (int) Math.floor(z)) + 1.0;
 
                 Location base = new Location(world, x, y, z);
 
-                Set<Material> wl = toMaterialSet(option.groundWhitelist);
+                SafeLocationFinder.GroundWhitelist wl = plan.groundWhitelist;
                 String tag = getCacheTypeTag();
                 Location found = SafeLocationFinder.withYSelectionOverride(yov, () ->
                         cacheEnabled
                                 ? SafeLocationFinder.cachedFindSafeNear(base, currentRadius, wl, playerId, cachePlayerSpecific, true, tag, null)
-                                : SafeLocationFinder.attemptSafeNearOnce(base, currentRadius, wl)
+                                : SafeLocationFinder.attemptSafeNearOnce(base, currentRadius, wl.materials())
                 );
                 if (found == null) {
                     bumpFailCounters();
@@ -949,27 +1219,20 @@ public class SpawnManager {
                 int cz = regionLoc.getBlockZ() >> 4;
 
                 if (!world.isChunkLoaded(cx, cz)) {
-                    double px = (cx << 4) + 8.0;
-                    double pz = (cz << 4) + 8.0;
-                    Location probe = new Location(world, px, regionLoc.getY(), pz);
-                    PaperLib.getChunkAtAsync(probe, true).thenRun(() -> {
-                    });
                     return null;
                 }
 
-                Rect rect = includeRects.isEmpty()
-                        ? rectFromAxesOption(option, world)
-                        : pickRectClosestToChunkCenter(regionLoc, includeRects);
+                Rect rect = pickRectClosestToChunkCenter(regionLoc, geometry.include());
 
                 double chunkMinX = (cx << 4);
                 double chunkMaxX = chunkMinX + 15.0;
                 double chunkMinZ = (cz << 4);
                 double chunkMaxZ = chunkMinZ + 15.0;
 
-                double rxMinX = Math.min(rect.minX(), rect.maxX());
-                double rxMaxX = Math.max(rect.minX(), rect.maxX());
-                double rzMinZ = Math.min(rect.minZ(), rect.maxZ());
-                double rzMaxZ = Math.max(rect.minZ(), rect.maxZ());
+                double rxMinX = rect.minX();
+                double rxMaxX = rect.maxX();
+                double rzMinZ = rect.minZ();
+                double rzMaxZ = rect.maxZ();
 
                 double minX = Math.max(rxMinX, chunkMinX);
                 double maxX = Math.min(rxMaxX, chunkMaxX);
@@ -980,23 +1243,22 @@ public class SpawnManager {
                     return null;
                 }
 
-                Set<Material> wl = toMaterialSet(option.groundWhitelist);
+                SafeLocationFinder.GroundWhitelist wl = plan.groundWhitelist;
                 String tag = getCacheTypeTag();
                 Predicate<Location> notExcluded = l -> isOutsideAny(l, excludeRects);
 
+                // Cache disabled still goes through the validated path (per-chunk column scan + exclude check)
                 Location found = SafeLocationFinder.withYSelectionOverride(yov, () ->
-                        cacheEnabled
-                                ? SafeLocationFinder.cachedFindSafeInAreaValidated(
+                        SafeLocationFinder.cachedFindSafeInAreaValidated(
                                 world, minX, maxX, rect.minY(), rect.maxY(), minZ, maxZ,
-                                wl, playerId, cachePlayerSpecific, true, tag, notExcluded)
-                                : SafeLocationFinder.attemptSafeInAreaOnce(world, minX, maxX, rect.minY(), rect.maxY(), minZ, maxZ, wl)
+                                wl, playerId, cachePlayerSpecific, cacheEnabled, tag, notExcluded)
                 );
 
                 if (found == null) return null;
 
                 if (!excludeRects.isEmpty()) {
                     for (Rect ex : excludeRects) {
-                        if (isInsideRect(found, ex)) return null;
+                        if (ex.contains(found.getX(), found.getY(), found.getZ())) return null;
                     }
                 }
 
@@ -1007,92 +1269,54 @@ public class SpawnManager {
 
         /**
          * Paper-only area attempt with chunk awareness.
+         * An unloaded chunk is requested from chunkLoads; the load callback then searches exactly that chunk.
          */
-        private Location attemptInRectLocal(Rect rect, List<Rect> exclude, Set<Material> wl) {
-            SafeLocationFinder.YSelectionOverride yov = buildYOverride(option);
-
-            double rxMinX = Math.min(rect.minX(), rect.maxX());
-            double rxMaxX = Math.max(rect.minX(), rect.maxX());
-            double rzMinZ = Math.min(rect.minZ(), rect.maxZ());
-            double rzMaxZ = Math.max(rect.minZ(), rect.maxZ());
-
-            String tag = getCacheTypeTag();
-            Predicate<Location> notExcluded = l -> isOutsideAny(l, exclude);
-
-            // 1) Pending chunk already requested
-            if (waitingChunkLoad) {
-                if (!world.isChunkLoaded(pendingChunkX, pendingChunkZ)) {
-                    return null; // still loading
-                }
-                waitingChunkLoad = false;
-
-                double chunkMinX = (pendingChunkX << 4);
-                double chunkMaxX = chunkMinX + 15.0;
-                double chunkMinZ = (pendingChunkZ << 4);
-                double chunkMaxZ = chunkMinZ + 15.0;
-
-                double minX = Math.max(rxMinX, chunkMinX);
-                double maxX = Math.min(rxMaxX, chunkMaxX);
-                double minZ = Math.max(rzMinZ, chunkMinZ);
-                double maxZ = Math.min(rzMaxZ, chunkMaxZ);
-
-                pendingChunkX = Integer.MIN_VALUE;
-                pendingChunkZ = Integer.MIN_VALUE;
-
-                if (minX > maxX || minZ > maxZ) {
-                    return null;
-                }
-
-                return SafeLocationFinder.withYSelectionOverride(yov, () ->
-                        SafeLocationFinder.cachedFindSafeInAreaValidated(
-                                world,
-                                minX, maxX,
-                                rect.minY(), rect.maxY(),
-                                minZ, maxZ,
-                                wl,
-                                playerId,
-                                cachePlayerSpecific,
-                                cacheEnabled,
-                                tag,
-                                notExcluded
-                        )
-                );
-            }
+        private Location attemptInRectLocal(Rect rect, List<Rect> exclude, SafeLocationFinder.GroundWhitelist wl) {
+            // A chunk load is pending; its callback resumes the search
+            if (waitingChunkLoad) return null;
 
-            // 2) Pick random chunk inside rect
-            double x = ThreadLocalRandom.current().nextDouble(rxMinX, rxMaxX);
-            double z = ThreadLocalRandom.current().nextDouble(rzMinZ, rzMaxZ);
+            // Pick random chunk inside rect
+            double x = rect.randomX();
+            double z = rect.randomZ();
             int cx = ((int) Math.floor(x)) >> 4;
             int cz = ((int) Math.floor(z)) >> 4;
 
             if (!world.isChunkLoaded(cx, cz)) {
-                pendingChunkX = cx;
-                pendingChunkZ = cz;
                 waitingChunkLoad = true;
-
-                double px = (cx << 4) + 8.0;
-                double pz = (cz << 4) + 8.0;
-                Location loadProbe = new Location(world, px, rect.minY(), pz);
-                PaperLib.getChunkAtAsync(loadProbe, true).thenRun(() -> {
-                });
+                chunkLoads.acquire(this, world, cx, cz, ok -> resumeAfterChunkLoadLocal(ok, () -> {
+                    Location found = searchChunkLocal(rect, cx, cz, exclude, wl);
+                    if (found == null) {
+                        bumpFailCounters();
+                        return null;
+                    }
+                    applyYawPitch(option, found);
+                    return found;
+                }));
                 return null;
             }
 
+            return searchChunkLocal(rect, cx, cz, exclude, wl);
+        }
+
+        private Location searchChunkLocal(Rect rect, int cx, int cz, List<Rect> exclude, SafeLocationFinder.GroundWhitelist wl) {
             double chunkMinX = (cx << 4);
             double chunkMaxX = chunkMinX + 15.0;
             double chunkMinZ = (cz << 4);
             double chunkMaxZ = chunkMinZ + 15.0;
 
-            double minX = Math.max(rxMinX, chunkMinX);
-            double maxX = Math.min(rxMaxX, chunkMaxX);
-            double minZ = Math.max(rzMinZ, chunkMinZ);
-            double maxZ = Math.min(rzMaxZ, chunkMaxZ);
+            double minX = Math.max(rect.minX(), chunkMinX);
+            double maxX = Math.min(rect.maxX(), chunkMaxX);
+            double minZ = Math.max(rect.minZ(), chunkMinZ);
+            double maxZ = Math.min(rect.maxZ(), chunkMaxZ);
 
             if (minX > maxX || minZ > maxZ) {
                 return null;
             }
 
-            return SafeLocationFinder.withYSelectionOverride(yov, () ->
+            String tag = getCacheTypeTag();
+            Predicate<Location> notExcluded = l -> isOutsideAny(l, exclude);
+
+            return SafeLocationFinder.withYSelectionOverride(plan.yOverride, () ->
                     SafeLocationFinder.cachedFindSafeInAreaValidated(
                             world,
                             minX, maxX,
@@ -1108,6 +1332,19 @@ public class SpawnManager {
             );
         }
 
+        /**
+         * Paper load callback (main thread, the tick the chunk became ready): clear the wait and attempt immediately.
+         */
+        private void resumeAfterChunkLoadLocal(boolean ok, Supplier<Location> attempt) {
+            waitingChunkLoad = false;
+            if (!ok || finished) return;
+            attemptCount++;
+            Location found = attempt.get();
+            if (found != null) {
+                finish(found, true);
+            }
+        }
+
         private void bumpFailCounters() {
             if (!isDebug()) return;
             var tag = SafeLocationFinder.getAndClearLastFailReason();
@@ -1133,15 +1370,14 @@ public class SpawnManager {
         }
 
         private Rect pickRectClosestToChunkCenter(Location chunkCenter, List<Rect> rects) {
-            if (rects.isEmpty()) return rectFromAxesOption(option, world);
             Rect best = rects.get(0);
             double bx = chunkCenter.getX();
             double bz = chunkCenter.getZ();
             double bestDist = Double.MAX_VALUE;
 
             for (Rect r : rects) {
-                double cx = (Math.min(r.minX(), r.maxX()) + Math.max(r.minX(), r.maxX())) / 2.0;
-                double cz = (Math.min(r.minZ(), r.maxZ()) + Math.max(r.minZ(), r.maxZ())) / 2.0;
+                double cx = (r.minX() + r.maxX()) / 2.0;
+                double cz = (r.minZ() + r.maxZ()) / 2.0;
                 double d2 = (cx - bx) * (cx - bx) + (cz - bz) * (cz - bz);
                 if (d2 < bestDist) {
                     bestDist = d2;
@@ -1155,6 +1391,8 @@ public class SpawnManager {
          * Finalize job: cancel, remove from registry, teleport with min-stay logic, run AFTER actions.
          */
         private void finish(Location found, boolean success) {
+            // Already finished or replaced by a newer job: late results must not teleport
+            if (finished) return;
             try {
                 cancel();
             } catch (Exception ignored) {
@@ -1175,147 +1413,206 @@ public class SpawnManager {
                 runPhaseForEntry(player, option, globalActions, SpawnPointsConfig.Phase.AFTER);
 
                 // Generic join message for all requireSafe join flows
-                if ("join".equalsIgnoreCase(eventType)) {
-                    sendTeleportMessage(player, "join");
+                if (eventType == SpawnEventType.JOIN) {
+                    sendTeleportMessage(player, SpawnEventType.JOIN);
                 }
             };
             teleportCore(player, found, eventType, finalDelay, afterTeleport);
         }
 
-        private List<Rect> buildRectsForOption(SpawnPointsConfig.Destination option, World world) {
-            // If rects are explicitly provided — use them
-            List<Rect> rects = toRects(option.rects, world);
-            if (!rects.isEmpty()) return rects;
+        /**
+         * Folia: validate one pooled spot on its region thread. Returns true if a validation was scheduled.
+         */
+        private boolean tryPooledSpotInRegion() {
+            if (!isPoolEligible(option)) return false;
 
-            // If it's a fixed point — no rects (use fixed-point behavior)
-            if (isPointOption(option)) {
-                return Collections.emptyList();
+            Location spot = safeSpotPool.poll(option);
+            if (spot == null) {
+                safeSpotPool.recordMiss();
+                return false;
             }
 
-            // Otherwise build a single rect from axis (xyz)
-            RegionSpec area = resolveAreaFromOption(option, world);
-            return List.of(new Rect(area.minX(), area.maxX(), area.minY(), area.maxY(), area.minZ(), area.maxZ()));
-        }
-
-        private boolean isOutsideAny(Location loc, List<Rect> rects) {
-            if (rects == null || rects.isEmpty() || loc == null) return true;
-            for (Rect r : rects) {
-                if (isInsideRect(loc, r)) return false;
-            }
+            regionAttemptsInFlight.incrementAndGet();
+            Set<Material> wl = plan.groundWhitelist.materials();
+            plugin.getRunner().runAtLocation(spot, () -> {
+                try {
+                    if (finished) return;
+                    if (world.isChunkLoaded(spot.getBlockX() >> 4, spot.getBlockZ() >> 4)
+                            && SafeLocationFinder.isSafeLocation(spot, wl)
+                            && resultClaimed.compareAndSet(false, true)) {
+                        safeSpotPool.recordHit();
+                        applyYawPitch(option, spot);
+                        plugin.getRunner().runGlobal(() -> finish(spot, true));
+                    } else {
+                        safeSpotPool.recordMiss();
+                    }
+                } finally {
+                    regionAttemptsInFlight.decrementAndGet();
+                }
+            });
             return true;
         }
     }
 
-    // ========== Helpers (outer scope) ==========
+    // ========== Safe spot pool ==========
 
-    private Rect rectFromAxesOption(SpawnPointsConfig.Destination option, World world) {
-        RegionSpec area = resolveAreaFromOption(option, world);
-        return new Rect(area.minX(), area.maxX(), area.minY(), area.maxY(), area.minZ(), area.maxZ());
+    private boolean isPoolEligible(SpawnPointsConfig.Destination option) {
+        return plugin.getConfigManager().getMainConfig().settings.safeSpotPool.enabled
+                && option.requireSafe
+                && !planFor(option).point;
     }
 
-    private void applyYawPitch(SpawnPointsConfig.Destination option, Location loc) {
-        float yaw = (option.yaw == null) ? loc.getYaw()
-                : option.yaw.isValue() ? option.yaw.value.floatValue()
-                  : (float) (option.yaw.min + ThreadLocalRandom.current().nextDouble() * (option.yaw.max - option.yaw.min));
-        float pitch = (option.pitch == null) ? loc.getPitch()
-                : option.pitch.isValue() ? option.pitch.value.floatValue()
-                  : (float) (option.pitch.min + ThreadLocalRandom.current().nextDouble() * (option.pitch.max - option.pitch.min));
-        pitch = (float) clampPitch(pitch);
+    /**
+     * Paper: take a pooled spot and re-validate it on the main thread.
+     * Spots whose chunk is no longer loaded or that became unsafe are dropped.
+     */
+    private Location takePooledSpotLocal(SpawnPointsConfig.Destination option) {
+        if (plugin.getRunner().isFolia() || !isPoolEligible(option)) return null;
 
-        loc.setYaw(yaw);
-        loc.setPitch(pitch);
+        Set<Material> wl = null;
+        for (int i = 0; i < 3; i++) {
+            Location spot = safeSpotPool.poll(option);
+            if (spot == null) break;
+
+            World w = spot.getWorld();
+            if (w == null || !w.isChunkLoaded(spot.getBlockX() >> 4, spot.getBlockZ() >> 4)) continue;
+
+            if (wl == null) wl = planFor(option).groundWhitelist.materials();
+            if (SafeLocationFinder.isSafeLocation(spot, wl)) {
+                safeSpotPool.recordHit();
+                applyYawPitch(option, spot);
+                return spot;
+            }
+        }
+        safeSpotPool.recordMiss();
+        return null;
     }
 
-    private record Rect(double minX, double maxX, double minY, double maxY, double minZ, double maxZ) {
+    private void startPoolRefill() {
+        var cfg = plugin.getConfigManager().getMainConfig().settings.safeSpotPool;
+        if (!cfg.enabled) return;
+        long period = Math.max(1, cfg.refillIntervalTicks);
+        poolRefillTask = plugin.getRunner().runGlobalTimer(this::refillPools, period, period);
     }
 
-    private record RegionSpec(double minX, double maxX, double minY, double maxY, double minZ, double maxZ) {
+    private void stopPoolRefill() {
+        if (poolRefillTask != null) {
+            poolRefillTask.cancel();
+            poolRefillTask = null;
+        }
     }
 
-    private List<Rect> toRects(List<SpawnPointsConfig.RectSpec> list, World world) {
-        if (list == null || list.isEmpty()) return Collections.emptyList();
-        List<Rect> out = new ArrayList<>();
-        for (SpawnPointsConfig.RectSpec r : list) {
-            if (r == null || r.x == null || r.z == null) continue;
-
-            double minX = r.x.isValue() ? r.x.value : r.x.min;
-            double maxX = r.x.isValue() ? r.x.value : r.x.max;
-            double minZ = r.z.isValue() ? r.z.value : r.z.min;
-            double maxZ = r.z.isValue() ? r.z.value : r.z.max;
-
-            double minY;
-            double maxY;
-            if (r.y == null) {
-                minY = resolveMinY(world);
-                maxY = world.getMaxHeight();
-            } else if (r.y.isValue()) {
-                minY = r.y.value;
-                maxY = r.y.value;
-            } else {
-                minY = r.y.min;
-                maxY = r.y.max;
+    /**
+     * Global timer: spend up to refillAttemptsPerRun attempts on under-filled pools, round-robin.
+     * Folia keeps at most one attempt in flight per pool.
+     */
+    private void refillPools() {
+        try {
+            var cfg = plugin.getConfigManager().getMainConfig().settings.safeSpotPool;
+            List<SafeSpotPool.Pool> pools = safeSpotPool.pools();
+            int n = pools.size();
+            if (n == 0) return;
+
+            // Rotate the starting pool so one hard destination cannot starve the others
+            int start = Math.floorMod(poolRefillCursor++, n);
+            int budget = cfg.refillAttemptsPerRun;
+            int idle = 0;
+            for (int i = 0; budget > 0 && idle < n; i++) {
+                SafeSpotPool.Pool pool = pools.get((start + i) % n);
+                if (pool.refillInFlight || pool.size.get() >= cfg.size) {
+                    idle++;
+                    continue;
+                }
+                idle = 0;
+                budget--;
+                refillAttempt(pool, cfg.size);
             }
-
-            out.add(new Rect(minX, maxX, minY, maxY, minZ, maxZ));
+        } catch (Throwable t) {
+            plugin.getLogger().warning("[SafeSpotPool] refill failed: " + t.getMessage());
         }
-        return out;
     }
 
-    private Rect pickRect(List<Rect> rects) {
-        if (rects == null || rects.isEmpty()) return null;
-        return rects.get(ThreadLocalRandom.current().nextInt(rects.size()));
-    }
+    /**
+     * One refill attempt: pick a chunk inside the destination and search it on the owning thread.
+     * Only already-loaded chunks are searched; refill never loads chunks.
+     */
+    private void refillAttempt(SafeSpotPool.Pool pool, int capacity) {
+        DestinationPlan plan = planFor(pool.destination);
+        DestinationPlan.Geometry geometry = plan.geometry();
+        if (geometry == null || geometry.isEmpty()) return;
+        World world = geometry.world();
+        List<Rect> exclude = geometry.exclude();
+
+        Rect rect = geometry.pick();
+
+        double rxMinX = rect.minX();
+        double rxMaxX = rect.maxX();
+        double rzMinZ = rect.minZ();
+        double rzMaxZ = rect.maxZ();
+
+        double x = rect.randomX();
+        double z = rect.randomZ();
+        int cx = ((int) Math.floor(x)) >> 4;
+        int cz = ((int) Math.floor(z)) >> 4;
+
+        Runnable attempt = () -> {
+            try {
+                if (!world.isChunkLoaded(cx, cz)) return;
 
-    private boolean isInsideRect(Location loc, Rect r) {
-        double x = loc.getX();
-        double y = loc.getY();
-        double z = loc.getZ();
+                double minX = Math.max(rxMinX, cx << 4);
+                double maxX = Math.min(rxMaxX, (cx << 4) + 15.0);
+                double minZ = Math.max(rzMinZ, cz << 4);
+                double maxZ = Math.min(rzMaxZ, (cz << 4) + 15.0);
+                if (minX > maxX || minZ > maxZ) return;
 
-        double minX = Math.min(r.minX(), r.maxX());
-        double maxX = Math.max(r.minX(), r.maxX());
-        double minZ = Math.min(r.minZ(), r.maxZ());
-        double maxZ = Math.max(r.minZ(), r.maxZ());
+                SafeLocationFinder.GroundWhitelist wl = plan.groundWhitelist;
+                Location found = SafeLocationFinder.withYSelectionOverride(plan.yOverride, () ->
+                        SafeLocationFinder.cachedFindSafeInAreaValidated(
+                                world, minX, maxX, rect.minY(), rect.maxY(), minZ, maxZ,
+                                wl, null, false, false, "SAFE_SPOT_POOL", l -> isOutsideAny(l, exclude))
+                );
+                if (found != null) {
+                    safeSpotPool.offer(pool, found, capacity);
+                }
+            } finally {
+                pool.refillInFlight = false;
+            }
+        };
 
-        return x >= minX && x <= maxX
-                && y >= Math.min(r.minY(), r.maxY()) && y <= Math.max(r.minY(), r.maxY())
-                && z >= minZ && z <= maxZ;
+        if (plugin.getRunner().isFolia()) {
+            pool.refillInFlight = true;
+            plugin.getRunner().runAtLocation(new Location(world, (cx << 4) + 8.0, rect.minY(), (cz << 4) + 8.0), attempt);
+        } else {
+            attempt.run();
+        }
     }
 
-    private RegionSpec resolveAreaFromOption(SpawnPointsConfig.Destination option, World world) {
-        double minX;
-        double maxX;
-        double minZ;
-        double maxZ;
+    // ========== Helpers (outer scope) ==========
 
-        if (option.x.isValue()) {
-            minX = option.x.value;
-            maxX = option.x.value;
-        } else {
-            minX = option.x.min;
-            maxX = option.x.max;
-        }
+    private boolean isOutsideAny(Location loc, List<Rect> rects) {
+        if (loc == null) return true;
+        return isOutsideAny(loc.getX(), loc.getY(), loc.getZ(), rects);
+    }
 
-        if (option.z.isValue()) {
-            minZ = option.z.value;
-            maxZ = option.z.value;
-        } else {
-            minZ = option.z.min;
-            maxZ = option.z.max;
+    private boolean isOutsideAny(double x, double y, double z, List<Rect> rects) {
+        if (rects == null || rects.isEmpty()) return true;
+        for (Rect r : rects) {
+            if (r.contains(x, y, z)) return false;
         }
+        return true;
+    }
 
-        double minY = resolveMinY(world);
-        double maxY = world.getMaxHeight();
-        if (option.y != null) {
-            if (option.y.isValue()) {
-                minY = option.y.value;
-                maxY = option.y.value;
-            } else {
-                minY = option.y.min;
-                maxY = option.y.max;
-            }
-        }
+    private void applyYawPitch(SpawnPointsConfig.Destination option, Location loc) {
+        float yaw = (option.yaw == null) ? loc.getYaw()
+                : option.yaw.isValue() ? option.yaw.value.floatValue()
+                  : (float) (option.yaw.min + ThreadLocalRandom.current().nextDouble() * (option.yaw.max - option.yaw.min));
+        float pitch = (option.pitch == null) ? loc.getPitch()
+                : option.pitch.isValue() ? option.pitch.value.floatValue()
+                  : (float) (option.pitch.min + ThreadLocalRandom.current().nextDouble() * (option.pitch.max - option.pitch.min));
+        pitch = (float) clampPitch(pitch);
 
-        return new RegionSpec(minX, maxX, minY, maxY, minZ, maxZ);
+        loc.setYaw(yaw);
+        loc.setPitch(pitch);
     }
 
     /**
@@ -1326,28 +1623,18 @@ public class SpawnManager {
      * - Instead of crashing, we treat such destinations as unusable and return null.
      */
     private Location resolveNonSafeLocation(SpawnPointsConfig.Destination option) {
-        World world = Bukkit.getWorld(option.world);
-        if (world == null) return null;
-
-        // Always map legacy xyz axis to a single rect if rects are not provided
-        List<Rect> rects = toRects(option.rects, world);
-        if (rects.isEmpty()) {
-            rects = List.of(rectFromAxesOption(option, world));
-        }
-        List<Rect> exclude = toRects(option.excludeRects, world);
+        DestinationPlan.Geometry geometry = planFor(option).geometry();
+        if (geometry == null || geometry.isEmpty()) return null;
+        World world = geometry.world();
+        List<Rect> exclude = geometry.exclude();
 
-        Rect r = pickRect(rects);
-        if (r == null) return null;
+        // Legacy xyz axis specs are already mapped to a single rect by the plan
+        Rect r = geometry.pick();
 
         // Try up to 16 random samples
-        double rxMinX = Math.min(r.minX(), r.maxX());
-        double rxMaxX = Math.max(r.minX(), r.maxX());
-        double rzMinZ = Math.min(r.minZ(), r.maxZ());
-        double rzMaxZ = Math.max(r.minZ(), r.maxZ());
-
         for (int i = 0; i < 16; i++) {
-            double x = (rxMinX == rxMaxX) ? rxMinX : ThreadLocalRandom.current().nextDouble(rxMinX, Math.nextUp(rxMaxX));
-            double z = (rzMinZ == rzMaxZ) ? rzMinZ : ThreadLocalRandom.current().nextDouble(rzMinZ, Math.nextUp(rzMaxZ));
+            double x = r.randomX();
+            double z = r.randomZ();
 
             double y;
             if (r.minY() == r.maxY()) {
@@ -1364,7 +1651,7 @@ public class SpawnManager {
             if (!exclude.isEmpty()) {
                 boolean insideEx = false;
                 for (Rect ex : exclude) {
-                    if (isInsideRect(loc, ex)) {
+                    if (ex.contains(loc.getX(), loc.getY(), loc.getZ())) {
                         insideEx = true;
                         break;
                     }
@@ -1376,27 +1663,6 @@ public class SpawnManager {
         return null;
     }
 
-    /**
-     * Build a Material set from config names.
-     * <p>
-     * Runtime validation is intentional:
-     * - The list is optional in config (may be null/empty).
-     * - Unknown or legacy materials are silently skipped here, because:
-     * • config validators already report them on reload/startup;
-     * • at runtime we just want a safe, minimal set for fast lookups.
-     */
-    private Set<Material> toMaterialSet(List<String> names) {
-        if (names == null || names.isEmpty()) return Collections.emptySet();
-        Set<Material> set = new HashSet<>();
-        for (String n : names) {
-            Material m = Material.matchMaterial(n);
-            if (m != null) {
-                set.add(m);
-            }
-        }
-        return set;
-    }
-
     private float computeYaw(SpawnPointsConfig.Destination option) {
         if (option.yaw == null) return 0.0f;
         if (option.yaw.isValue()) return option.yaw.value.floatValue();
@@ -1411,12 +1677,6 @@ public class SpawnManager {
         return (float) d;
     }
 
-    private boolean isPointOption(SpawnPointsConfig.Destination option) {
-        return option.x != null && option.z != null
-                && option.x.isValue() && option.z.isValue()
-                && (option.y == null || option.y.isValue());
-    }
-
     private static String normalizeMode(String mode) {
         if (mode == null) return "set";
         return switch (mode.toLowerCase(Locale.ROOT)) {
@@ -1438,13 +1698,6 @@ public class SpawnManager {
         return Math.min(pitch, 90.0);
     }
 
-    private SafeLocationFinder.YSelectionOverride buildYOverride(SpawnPointsConfig.Destination opt) {
-        if (opt == null || opt.ySelection == null) return null;
-        return new SafeLocationFinder.YSelectionOverride(
-                opt.ySelection.mode, opt.ySelection.first, opt.ySelection.firstShare, opt.ySelection.respectRange
-        );
-    }
-
     // ========== Actions / commands / messaging ==========
 
     /**
@@ -1454,32 +1707,40 @@ public class SpawnManager {
                                   SpawnPointsConfig.Destination selected,
                                   SpawnPointsConfig.ActionsConfig globalActions,
                                   SpawnPointsConfig.Phase phase) {
+        runPhaseForEntry(new PlayerConditionContext(player), selected, globalActions, phase);
+    }
+
+    private void runPhaseForEntry(PlayerConditionContext context,
+                                  SpawnPointsConfig.Destination selected,
+                                  SpawnPointsConfig.ActionsConfig globalActions,
+                                  SpawnPointsConfig.Phase phase) {
         String mode = selected.actionExecutionMode == null
                 ? "before"
                 : selected.actionExecutionMode.toLowerCase(Locale.ROOT);
 
         switch (mode) {
             case "after" -> {
-                runPhaseForActions(player, globalActions, phase);
-                runPhaseForActions(player, selected.actions, phase);
+                runPhaseForActions(context, globalActions, phase);
+                runPhaseForActions(context, selected.actions, phase);
             }
-            case "instead" -> runPhaseForActions(player, selected.actions, phase);
+            case "instead" -> runPhaseForActions(context, selected.actions, phase);
             default -> {
                 // treat null/unknown as "before"
-                runPhaseForActions(player, selected.actions, phase);
-                runPhaseForActions(player, globalActions, phase);
+                runPhaseForActions(context, selected.actions, phase);
+                runPhaseForActions(context, globalActions, phase);
             }
         }
     }
 
-    private void runPhaseForActions(Player player, SpawnPointsConfig.ActionsConfig actions, SpawnPointsConfig.Phase phase) {
+    private void runPhaseForActions(PlayerConditionContext context, SpawnPointsConfig.ActionsConfig actions, SpawnPointsConfig.Phase phase) {
         if (actions == null) return;
+        Player player = context.player();
 
         if (actions.messages != null) {
             for (SpawnPointsConfig.MessageEntry msg : actions.messages) {
                 if (!isPhase(msg.phases, phase)) continue;
 
-                int chance = getEffectiveMessageChance(player, msg);
+                int chance = getEffectiveMessageChance(context, msg);
                 if (roll(chance)) {
                     if (isDebug()) {
                         plugin.getLogger().info("runPhaseForActions: sending message to " + player.getName()
@@ -1497,7 +1758,7 @@ public class SpawnManager {
             for (SpawnPointsConfig.CommandActionEntry cmd : actions.commands) {
                 if (!isPhase(cmd.phases, phase)) continue;
 
-                int chance = getEffectiveCommandChance(player, cmd);
+                int chance = getEffectiveCommandChance(context, cmd);
                 if (isDebug()) {
                     plugin.getLogger().info("runPhaseForActions: Checking command for " + player.getName()
                             + " with chance: " + chance + ", phase: " + phase);
@@ -1524,12 +1785,12 @@ public class SpawnManager {
         return phases.contains(phase);
     }
 
-    private int getEffectiveMessageChance(Player player, SpawnPointsConfig.MessageEntry message) {
-        return applyChanceConditions(player, message.chance, message.chanceConditions);
+    private int getEffectiveMessageChance(PlayerConditionContext context, SpawnPointsConfig.MessageEntry message) {
+        return applyChanceConditions(context, message.chance, message.chanceConditions);
     }
 
-    private int getEffectiveCommandChance(Player player, SpawnPointsConfig.CommandActionEntry command) {
-        return applyChanceConditions(player, command.chance, command.chanceConditions);
+    private int getEffectiveCommandChance(PlayerConditionContext context, SpawnPointsConfig.CommandActionEntry command) {
+        return applyChanceConditions(context, command.chance, command.chanceConditions);
     }
 
     private void executeCommand(Player player, String command) {
@@ -1545,7 +1806,7 @@ public class SpawnManager {
         });
     }
 
-    private void teleportPlayerWithDelay(Player player, Location location, String eventType) {
+    private void teleportPlayerWithDelay(Player player, Location location, SpawnEventType eventType) {
         int delayTicks = plugin.getConfigManager().getMainConfig().settings.teleport.delayTicks;
 
         Runnable afterTeleport = () -> {
@@ -1571,7 +1832,7 @@ public class SpawnManager {
      */
     private void teleportCore(Player player,
                               Location location,
-                              String eventType,
+                              SpawnEventType eventType,
                               int delayTicks,
                               Runnable afterTeleport) {
 
@@ -1584,7 +1845,7 @@ public class SpawnManager {
 
             // PRE
             MSPPreTeleportEvent pre = new MSPPreTeleportEvent(
-                    player, eventType, "FINAL", from, location.clone()
+                    player, eventType.getKey(), "FINAL", from, location.clone()
             );
             Bukkit.getPluginManager().callEvent(pre);
             if (pre.isCancelled()) return;
@@ -1597,7 +1858,7 @@ public class SpawnManager {
                 plugin.getRunner().runAtEntity(player, () -> {
                     // POST
                     MSPPostTeleportEvent post = new MSPPostTeleportEvent(
-                            player, eventType, "FINAL", from, to
+                            player, eventType.getKey(), "FINAL", from, to
                     );
                     Bukkit.getPluginManager().callEvent(post);
 
@@ -1615,8 +1876,8 @@ public class SpawnManager {
         }
     }
 
-    private void sendTeleportMessage(Player player, String eventType) {
-        if (!"join".equalsIgnoreCase(eventType)) {
+    private void sendTeleportMessage(Player player, SpawnEventType eventType) {
+        if (eventType != SpawnEventType.JOIN) {
             return;
         }
 
@@ -1669,7 +1930,7 @@ public class SpawnManager {
      * and we used vanilla setRespawnLocation (no teleportPlayerWithDelay call).
      * Call this 1 tick after the actual respawn so the player is already at the new location.
      */
-    public void runAfterPhaseIfPending(Player player, String eventType) {
+    public void runAfterPhaseIfPending(Player player, SpawnEventType eventType) {
         try {
             UUID id = player.getUniqueId();
             PendingEntry pending = pendingAfterActions.remove(id);
@@ -1680,8 +1941,7 @@ public class SpawnManager {
                 return; // nothing to do
             }
 
-            boolean deferBeforeForJoin = shouldDeferBeforePhaseForJoin(eventType)
-                    && "join".equalsIgnoreCase(eventType);
+            boolean deferBeforeForJoin = shouldDeferBeforePhaseForJoin(eventType);
 
             if (isDebug()) {
                 plugin.getLogger().info("runAfterPhaseIfPending: running "
@@ -1700,8 +1960,8 @@ public class SpawnManager {
             runPhaseForEntry(player, pending.loc, pending.global, SpawnPointsConfig.Phase.AFTER);
 
             // For join spawn-location flows, also send the join.teleportedOnJoin message
-            if ("join".equalsIgnoreCase(eventType)) {
-                sendTeleportMessage(player, "join");
+            if (eventType == SpawnEventType.JOIN) {
+                sendTeleportMessage(player, SpawnEventType.JOIN);
             }
         } catch (Exception e) {
             if (isDebug()) {
@@ -1735,7 +1995,7 @@ public class SpawnManager {
             //    BEFORE + AFTER are deferred into pendingAfterActions.
             //    runAfterPhaseIfPending will handle both (BEFORE+AFTER) for join
             //    and also send join.teleportedOnJoin.
-            runAfterPhaseIfPending(player, "join");
+            runAfterPhaseIfPending(player, SpawnEventType.JOIN);
         } catch (Exception e) {
             if (isDebug()) {
                 plugin.getLogger().warning("Error while running join phases for " + player.getName() + ": " + e.getMessage());
@@ -1748,7 +2008,7 @@ public class SpawnManager {
         }
     }
 
-    private int applyChanceConditions(Player player,
+    private int applyChanceConditions(PlayerConditionContext context,
                                       int baseChance,
                                       List<SpawnPointsConfig.ChanceConditionEntry> conditions) {
         if (conditions == null || conditions.isEmpty()) {
@@ -1756,10 +2016,9 @@ public class SpawnManager {
         }
 
         int chance = baseChance;
-        boolean bypass = player.isOp() || player.hasPermission("*");
 
         for (SpawnPointsConfig.ChanceConditionEntry condition : conditions) {
-            if (!matchesCondition(player, condition.type, condition.value, bypass)) {
+            if (!matchesCondition(context, condition.type, condition.value)) {
                 continue;
             }
 
@@ -1776,18 +2035,16 @@ public class SpawnManager {
 
     /**
      * Evaluate a single Weight/Chance condition (permission | placeholder).
-     * Bypass flag applies only to permissions (OP / "*"), not to placeholders.
+     * Bypass (OP / "*") applies only to permissions, not to placeholders.
      */
-    private boolean matchesCondition(Player player,
+    private boolean matchesCondition(PlayerConditionContext context,
                                      String type,
-                                     String value,
-                                     boolean bypassPermissions) {
+                                     String value) {
         if (type == null || value == null) return false;
 
         return switch (type.toLowerCase(Locale.ROOT)) {
-            case "permission" -> PlaceholderUtils.evaluatePermissionExpression(player, value, bypassPermissions);
-            case "placeholder" ->
-                    plugin.isPlaceholderAPIEnabled() && PlaceholderUtils.checkPlaceholderCondition(player, value);
+            case "permission" -> context.evaluatePermissionExpression(value);
+            case "placeholder" -> plugin.isPlaceholderAPIEnabled() && context.checkPlaceholderCondition(value);
             default -> false;
         };
     }
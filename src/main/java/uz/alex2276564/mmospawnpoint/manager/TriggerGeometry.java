@@ -0,0 +1,190 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, normalized form of a COORDINATE trigger area (compiled once at load).
+ * <p>
+ * Rect mode: include/exclude boxes are flattened into double[] with 6 values per box
+ * (minX, maxX, minY, maxY, minZ, maxZ), min <= max, missing Y stored as +/- infinity.
+ * Axis mode: legacy x/y/z specs kept as primitive bounds (value = block compare, range = inclusive).
+ */
+public final class TriggerGeometry {
+
+    private static final int STRIDE = 6;
+
+    private static final byte AXIS_NONE = 0;
+    private static final byte AXIS_VALUE = 1;
+    private static final byte AXIS_RANGE = 2;
+    // Spec present but neither value nor range: never matches
+    private static final byte AXIS_INVALID = 3;
+
+    private final boolean rectMode;
+    private final double[] include;
+    private final double[] exclude;
+
+    private final byte xKind;
+    private final byte yKind;
+    private final byte zKind;
+    private final double xA;
+    private final double xB;
+    private final double yA;
+    private final double yB;
+    private final double zA;
+    private final double zB;
+
+    private TriggerGeometry(boolean rectMode, double[] include, double[] exclude,
+                            byte xKind, double xA, double xB,
+                            byte yKind, double yA, double yB,
+                            byte zKind, double zA, double zB) {
+        this.rectMode = rectMode;
+        this.include = include;
+        this.exclude = exclude;
+        this.xKind = xKind;
+        this.xA = xA;
+        this.xB = xB;
+        this.yKind = yKind;
+        this.yA = yA;
+        this.yB = yB;
+        this.zKind = zKind;
+        this.zA = zA;
+        this.zB = zB;
+    }
+
+    public static TriggerGeometry compile(SpawnPointsConfig.TriggerArea area) {
+        if (area == null) return null;
+
+        if (area.rects != null && !area.rects.isEmpty()) {
+            return new TriggerGeometry(true, flatten(area.rects), flatten(area.excludeRects),
+                    AXIS_NONE, 0, 0, AXIS_NONE, 0, 0, AXIS_NONE, 0, 0);
+        }
+
+        double[] x = axis(area.x);
+        double[] y = axis(area.y);
+        double[] z = axis(area.z);
+        return new TriggerGeometry(false, new double[0], new double[0],
+                (byte) x[0], x[1], x[2],
+                (byte) y[0], y[1], y[2],
+                (byte) z[0], z[1], z[2]);
+    }
+
+    public boolean matches(double x, double y, double z, int bx, int by, int bz) {
+        if (rectMode) {
+            double[] inc = include;
+            boolean inside = false;
+            for (int i = 0; i < inc.length; i += STRIDE) {
+                if (x >= inc[i] && x <= inc[i + 1]
+                        && y >= inc[i + 2] && y <= inc[i + 3]
+                        && z >= inc[i + 4] && z <= inc[i + 5]) {
+                    inside = true;
+                    break;
+                }
+            }
+            if (!inside) return false;
+
+            double[] exc = exclude;
+            for (int i = 0; i < exc.length; i += STRIDE) {
+                if (x >= exc[i] && x <= exc[i + 1]
+                        && y >= exc[i + 2] && y <= exc[i + 3]
+                        && z >= exc[i + 4] && z <= exc[i + 5]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return matchesAxis(xKind, xA, xB, x, bx)
+                && matchesAxis(yKind, yA, yB, y, by)
+                && matchesAxis(zKind, zA, zB, z, bz);
+    }
+
+    /**
+     * Block-space XZ bounds {minX, maxX, minZ, maxZ} covering every location this geometry
+     * can match, or null if unbounded on X or Z.
+     */
+    public long[] blockBoundsXZ() {
+        if (rectMode) {
+            if (include.length == 0) return null;
+            double minX = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double minZ = Double.POSITIVE_INFINITY;
+            double maxZ = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < include.length; i += STRIDE) {
+                minX = Math.min(minX, include[i]);
+                maxX = Math.max(maxX, include[i + 1]);
+                minZ = Math.min(minZ, include[i + 4]);
+                maxZ = Math.max(maxZ, include[i + 5]);
+            }
+            return new long[]{(long) Math.floor(minX), (long) Math.floor(maxX), (long) Math.floor(minZ), (long) Math.floor(maxZ)};
+        }
+
+        if (!isBounded(xKind) || !isBounded(zKind)) return null;
+        return new long[]{
+                (long) Math.floor(Math.min(xA, xB)), (long) Math.floor(Math.max(xA, xB)),
+                (long) Math.floor(Math.min(zA, zB)), (long) Math.floor(Math.max(zA, zB))
+        };
+    }
+
+    private static boolean isBounded(byte kind) {
+        return kind == AXIS_VALUE || kind == AXIS_RANGE;
+    }
+
+    private static boolean matchesAxis(byte kind, double a, double b, double coord, int blockCoord) {
+        return switch (kind) {
+            case AXIS_NONE -> true;
+            case AXIS_VALUE -> blockCoord == (int) a;
+            case AXIS_RANGE -> coord >= a && coord <= b;
+            default -> false;
+        };
+    }
+
+    private static double[] flatten(List<SpawnPointsConfig.RectSpec> rects) {
+        if (rects == null || rects.isEmpty()) return new double[0];
+        double[] tmp = new double[rects.size() * STRIDE];
+        int n = 0;
+        for (SpawnPointsConfig.RectSpec r : rects) {
+            if (r == null || r.x == null || r.z == null) continue;
+            double minX = r.x.isValue() ? r.x.value : r.x.min;
+            double maxX = r.x.isValue() ? r.x.value : r.x.max;
+            double minZ = r.z.isValue() ? r.z.value : r.z.min;
+            double maxZ = r.z.isValue() ? r.z.value : r.z.max;
+            double minY;
+            double maxY;
+            if (r.y == null) {
+                minY = Double.NEGATIVE_INFINITY;
+                maxY = Double.POSITIVE_INFINITY;
+            } else if (r.y.isValue()) {
+                minY = r.y.value;
+                maxY = r.y.value;
+            } else {
+                minY = r.y.min;
+                maxY = r.y.max;
+            }
+            tmp[n++] = Math.min(minX, maxX);
+            tmp[n++] = Math.max(minX, maxX);
+            tmp[n++] = Math.min(minY, maxY);
+            tmp[n++] = Math.max(minY, maxY);
+            tmp[n++] = Math.min(minZ, maxZ);
+            tmp[n++] = Math.max(minZ, maxZ);
+        }
+        return n == tmp.length ? tmp : Arrays.copyOf(tmp, n);
+    }
+
+    /**
+     * @return {kind, a, b}; for VALUE a is the floored block coordinate
+     */
+    private static double[] axis(SpawnPointsConfig.AxisSpec spec) {
+        if (spec == null) return new double[]{AXIS_NONE, 0, 0};
+        if (spec.isValue()) {
+            double block = Math.floor(spec.value);
+            return new double[]{AXIS_VALUE, block, block};
+        }
+        if (spec.isRange()) {
+            return new double[]{AXIS_RANGE, spec.min, spec.max};
+        }
+        return new double[]{AXIS_INVALID, 0, 0};
+    }
+}
@@ -5,6 +5,7 @@ import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
 import uz.alex2276564.mmospawnpoint.manager.SpawnEntry;
+import uz.alex2276564.mmospawnpoint.manager.SpawnEventType;
 import uz.alex2276564.mmospawnpoint.utils.WorldGuardUtils;
 
 import java.util.*;
@@ -905,10 +906,8 @@ public class PartyManager {
 
     private RestrictionReason checkLocationRestrictions(Location location) {
         // Only consider 'death' entries for party respawn restrictions
-        List<SpawnEntry> entries = plugin.getConfigManager().getSpawnEntriesForEvent("death");
+        List<SpawnEntry> entries = plugin.getConfigManager().getMatchingSpawnEntries(SpawnEventType.DEATH, location);
         for (SpawnEntry e : entries) {
-            if (!e.matchesLocation(location)) continue;
-
             var data = e.spawnData();
             if (data != null && data.party != null && data.party.respawnDisabled) {
                 return (e.type() == SpawnEntry.Type.WORLD)
@@ -0,0 +1,104 @@
+package uz.alex2276564.mmospawnpoint.utils;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Safe-spot evaluation against a {@link ChunkSnapshot}, safe to run on async workers.
+ * <p>
+ * Every column inside the bounds is evaluated in one pass and a random safe column is returned.
+ * Only Material properties are read (no Block access):
+ * - ground: solid and allowed by whitelist / global blacklist
+ * - feet/head: approximated as non-solid and not in the global passable blacklist
+ * <p>
+ * Results are candidates only; callers must confirm them with
+ * {@link SafeLocationFinder#isSafeLocation(org.bukkit.Location, Set)} on the owning thread.
+ */
+public final class ChunkSnapshotSafeFinder {
+
+    @FunctionalInterface
+    public interface BlockFilter {
+        boolean accept(int x, int feetY, int z);
+    }
+
+    private ChunkSnapshotSafeFinder() {
+    }
+
+    /**
+     * Block bounds (minBX..maxBZ) must lie inside the snapshot's chunk (inclusive, world coordinates);
+     * minY..maxY is the inclusive feet Y range.
+     *
+     * @param nether scan from the middle of the range (below the nether roof), otherwise from the surface down
+     * @param filter extra per-candidate check (exclude rects), may be null
+     * @return {x, feetY, z} in world block coordinates, or null
+     */
+    @Nullable
+    public static int[] findSafeInChunk(ChunkSnapshot snap,
+                                        int worldMinY, int worldMaxY,
+                                        int minBX, int maxBX, int minBZ, int maxBZ,
+                                        int minY, int maxY,
+                                        boolean nether,
+                                        @Nullable Set<Material> groundWhitelist,
+                                        @Nullable BlockFilter filter) {
+        if (minBX > maxBX || minBZ > maxBZ) return null;
+
+        // Feet needs ground below and head room above inside the world
+        int lo = Math.max(minY, worldMinY + 1);
+        int hi = Math.min(maxY, worldMaxY - 2);
+        if (lo > hi) return null;
+
+        // One pass over every column; reservoir-sample a single safe one (uniform, no allocation)
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int seen = 0;
+        int pickX = 0;
+        int pickY = 0;
+        int pickZ = 0;
+
+        for (int x = minBX; x <= maxBX; x++) {
+            for (int z = minBZ; z <= maxBZ; z++) {
+                int feetY = findFeetYInColumn(snap, x & 15, z & 15, lo, hi, nether, groundWhitelist);
+                if (feetY == Integer.MIN_VALUE) continue;
+                if (filter != null && !filter.accept(x, feetY, z)) continue;
+
+                seen++;
+                if (rnd.nextInt(seen) == 0) {
+                    pickX = x;
+                    pickY = feetY;
+                    pickZ = z;
+                }
+            }
+        }
+        return seen == 0 ? null : new int[]{pickX, pickY, pickZ};
+    }
+
+    private static int findFeetYInColumn(ChunkSnapshot snap, int lx, int lz, int lo, int hi,
+                                         boolean nether, @Nullable Set<Material> wl) {
+        int start;
+        if (nether) {
+            start = (lo + hi) >>> 1;
+        } else {
+            // Surface first: feet directly above the highest block, clamped to the range
+            start = Math.min(hi, snap.getHighestBlockYAt(lx, lz) + 1);
+        }
+
+        for (int y = start; y >= lo; y--) {
+            if (isSafeColumnAt(snap, lx, y, lz, wl)) return y;
+        }
+        if (nether) {
+            for (int y = start + 1; y <= hi; y++) {
+                if (isSafeColumnAt(snap, lx, y, lz, wl)) return y;
+            }
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    private static boolean isSafeColumnAt(ChunkSnapshot snap, int lx, int feetY, int lz, @Nullable Set<Material> wl) {
+        return SafeLocationFinder.isPassableMaterial(snap.getBlockType(lx, feetY, lz))
+                && SafeLocationFinder.isPassableMaterial(snap.getBlockType(lx, feetY + 1, lz))
+                && SafeLocationFinder.isGroundMaterialAllowed(snap.getBlockType(lx, feetY - 1, lz), wl);
+    }
+}
@@ -0,0 +1,140 @@
+package uz.alex2276564.mmospawnpoint.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of heightmap tops (World#getHighestBlockYAt) per chunk column.
+ * <p>
+ * Each chunk entry is an int[256] filled lazily, one column at a time, so random single-column
+ * attempts never pay for a whole chunk. Block changes reported by the block change listener reset
+ * the affected column, chunk unloads drop the chunk, and the expiry covers anything not reported
+ * (other plugins editing blocks without events). A stale value never produces an unsafe spot:
+ * every candidate is still checked against the live blocks.
+ */
+public final class HeightmapCache {
+
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private static volatile Cache<@NotNull Key, int[]> CACHE;
+
+    // Settings (keep for snapshot)
+    private static volatile boolean enabled = true;
+    private static volatile long expiryMs = 30000;
+    private static volatile int maxChunks = 2048;
+
+    private static final AtomicLong hits = new AtomicLong(0);
+    private static final AtomicLong misses = new AtomicLong(0);
+    private static final AtomicLong invalidations = new AtomicLong(0);
+
+    private record Key(UUID worldId, int cx, int cz) {
+    }
+
+    private HeightmapCache() {
+    }
+
+    public static void configure(boolean enabled, long expiryMs, int maxChunks) {
+        HeightmapCache.enabled = enabled;
+        HeightmapCache.expiryMs = expiryMs;
+        HeightmapCache.maxChunks = maxChunks;
+
+        Cache<Key, int[]> old = CACHE;
+        if (old != null) old.invalidateAll();
+
+        if (!enabled) {
+            CACHE = null;
+            return;
+        }
+
+        CACHE = Caffeine.newBuilder()
+                .maximumSize(maxChunks)
+                .expireAfterWrite(expiryMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Y of the highest non-air block at (x, z), same as World#getHighestBlockYAt(x, z).
+     * Must be called from the thread owning the chunk (the column is read live on a miss).
+     */
+    public static int highestBlockY(World world, int x, int z) {
+        Cache<Key, int[]> cache = CACHE;
+        if (cache == null) return world.getHighestBlockYAt(x, z);
+
+        int[] columns = cache.get(new Key(world.getUID(), x >> 4, z >> 4), k -> newColumns());
+        int i = ((z & 15) << 4) | (x & 15);
+        int y = columns[i];
+        if (y != UNKNOWN) {
+            hits.incrementAndGet();
+            return y;
+        }
+        misses.incrementAndGet();
+        y = world.getHighestBlockYAt(x, z);
+        columns[i] = y;
+        return y;
+    }
+
+    public static void invalidateColumn(World world, int x, int z) {
+        Cache<Key, int[]> cache = CACHE;
+        if (cache == null) return;
+        int[] columns = cache.getIfPresent(new Key(world.getUID(), x >> 4, z >> 4));
+        if (columns == null) return;
+        int i = ((z & 15) << 4) | (x & 15);
+        if (columns[i] != UNKNOWN) {
+            columns[i] = UNKNOWN;
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public static void invalidateChunk(World world, int cx, int cz) {
+        Cache<Key, int[]> cache = CACHE;
+        if (cache == null) return;
+        cache.invalidate(new Key(world.getUID(), cx, cz));
+    }
+
+    public static void invalidateWorld(UUID worldId) {
+        Cache<Key, int[]> cache = CACHE;
+        if (cache == null || worldId == null) return;
+        cache.asMap().keySet().removeIf(k -> worldId.equals(k.worldId));
+    }
+
+    public static boolean isEnabled() {
+        return CACHE != null;
+    }
+
+    public static void clear() {
+        Cache<Key, int[]> cache = CACHE;
+        if (cache != null) cache.invalidateAll();
+    }
+
+    private static int[] newColumns() {
+        int[] columns = new int[256];
+        Arrays.fill(columns, UNKNOWN);
+        return columns;
+    }
+
+    // --------------- Snapshot ----------------
+
+    public record Snapshot(long hits, long misses, long invalidations, long chunks, boolean enabled,
+                           long expiryMillis, int maxChunks) {
+    }
+
+    public static Snapshot snapshot() {
+        Cache<Key, int[]> cache = CACHE;
+        return new Snapshot(
+                hits.get(),
+                misses.get(),
+                invalidations.get(),
+                cache != null ? cache.estimatedSize() : 0L,
+                enabled,
+                expiryMs,
+                maxChunks
+        );
+    }
+}
@@ -5,11 +5,17 @@ import org.bukkit.entity.Player;
 import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 
 public class PlaceholderUtils {
 
+    // Compiled expressions by source text; sources come from config, cleared on reload
+    private static final ConcurrentHashMap<String, ExpressionEngine.CompiledExpression> COMPILED_CACHE = new ConcurrentHashMap<>();
+    private static final ExpressionEngine ENGINE = new ExpressionEngine();
+
     // ------------- Public API -------------
 
     public static String setPlaceholders(Player player, String text) {
@@ -51,31 +57,27 @@ public class PlaceholderUtils {
      * - Variables: %placeholder% (resolved via PAPI), or bare literals (true/false/numbers/strings)
      */
     public static boolean checkPlaceholderCondition(Player player, String condition) {
+        return checkPlaceholderCondition(condition, var -> resolvePlaceholder(player, var));
+    }
+
+    /**
+     * Same as {@link #checkPlaceholderCondition(Player, String)}, with %...% values supplied by the caller
+     * (e.g. memoized for one spawn resolution). Only placeholders the evaluation reaches are requested.
+     */
+    public static boolean checkPlaceholderCondition(String condition, Function<String, String> placeholderValues) {
         if (condition == null || condition.trim().isEmpty()) return false;
 
         try {
-            ExpressionEngine engine = new ExpressionEngine();
-
             Function<String, String> resolver = var -> {
                 // If %...% -> resolve via PAPI
                 if (var.startsWith("%") && var.endsWith("%")) {
-                    try {
-                        return PlaceholderAPI.setPlaceholders(player, var);
-                    } catch (Exception e) {
-                        if (MMOSpawnPoint.getInstance().getConfigManager().getMainConfig().settings.debugMode) {
-                            MMOSpawnPoint.getInstance().getLogger().warning("[MMOSpawnPoint] Placeholder error for: " + var + " -> " + e.getMessage());
-                        } else {
-                            MMOSpawnPoint.getInstance().getLogger().warning("[MMOSpawnPoint] Placeholder evaluation failed: " + e.getClass().getSimpleName());
-                            MMOSpawnPoint.getInstance().getLogger().warning("[MMOSpawnPoint] Please enable the debug mode in config.yml to see all information.");
-                        }
-                        return "";
-                    }
+                    return placeholderValues.apply(var);
                 }
                 // Otherwise raw token (could be number/boolean/string)
                 return var;
             };
 
-            return engine.evaluate(condition, resolver);
+            return compiled(condition).evaluate(resolver);
         } catch (Exception e) {
             MMOSpawnPoint plugin = MMOSpawnPoint.getInstance();
             if (plugin != null && plugin.getConfigManager().getMainConfig().settings.debugMode) {
@@ -89,6 +91,23 @@ public class PlaceholderUtils {
         }
     }
 
+    /**
+     * Resolve a single %placeholder% token via PAPI (or the opt-in value cache); failures resolve to an empty string.
+     */
+    public static String resolvePlaceholder(Player player, String placeholder) {
+        try {
+            return PlaceholderValueCache.resolve(player, placeholder, (p, ph) -> PlaceholderAPI.setPlaceholders(p, ph));
+        } catch (Exception e) {
+            if (MMOSpawnPoint.getInstance().getConfigManager().getMainConfig().settings.debugMode) {
+                MMOSpawnPoint.getInstance().getLogger().warning("[MMOSpawnPoint] Placeholder error for: " + placeholder + " -> " + e.getMessage());
+            } else {
+                MMOSpawnPoint.getInstance().getLogger().warning("[MMOSpawnPoint] Placeholder evaluation failed: " + e.getClass().getSimpleName());
+                MMOSpawnPoint.getInstance().getLogger().warning("[MMOSpawnPoint] Please enable the debug mode in config.yml to see all information.");
+            }
+            return "";
+        }
+    }
+
     /**
      * Validate expression syntax quickly (used by validators).
      * Returns true if expression is invalid.
@@ -97,31 +116,9 @@ public class PlaceholderUtils {
         if (expression == null || expression.trim().isEmpty()) return true;
 
         try {
-            ExpressionEngine engine = new ExpressionEngine();
-            List<String> rpn = engine.parseToRPN(expression);
-
-            Set<String> binaryOperators = Set.of("&&", "||", "==", "!=", ">", "<", ">=", "<=");
-            int stackSize = 0;
-
-            for (String token : rpn) {
-                if ("!".equals(token)) {
-                    if (stackSize < 1) {
-                        return true;
-                    }
-                    // consumes 1, produces 1 -> stack size unchanged
-                } else if (binaryOperators.contains(token)) {
-                    if (stackSize < 2) {
-                        return true;
-                    }
-                    // consumes 2, produces 1
-                    stackSize--;
-                } else {
-                    // operand
-                    stackSize++;
-                }
-            }
-
-            return stackSize != 1;
+            // Operators missing operands or leftover operands fail to compile
+            compiled(expression);
+            return false;
         } catch (Exception e) {
             return true;
         }
@@ -132,20 +129,31 @@ public class PlaceholderUtils {
      * Variables are permission nodes; resolver returns "true"/"false" string.
      */
     public static boolean evaluatePermissionExpression(Player player, String expression, boolean bypass) {
+        return evaluatePermissionExpression(expression, player::hasPermission, bypass);
+    }
+
+    /**
+     * Same as {@link #evaluatePermissionExpression(Player, String, boolean)}, with permission checks
+     * supplied by the caller (e.g. memoized for one spawn resolution).
+     */
+    public static boolean evaluatePermissionExpression(String expression, Predicate<String> permissions, boolean bypass) {
         if (expression == null || expression.trim().isEmpty()) return false;
 
         if (bypass) return true;
 
         try {
-            ExpressionEngine engine = new ExpressionEngine();
+            ExpressionEngine.CompiledExpression c = compiled(expression);
 
-            Function<String, String> resolver = var -> {
-                // treat bare token as permission node
-                boolean has = player.hasPermission(var);
-                return has ? "true" : "false";
-            };
+            // Single node or !node: one direct check, no tree walk
+            String node = c.singleVariable();
+            if (node != null) {
+                return permissions.test(node) != c.isNegated();
+            }
+
+            // treat bare token as permission node
+            Function<String, String> resolver = var -> permissions.test(var) ? "true" : "false";
 
-            return engine.evaluate(expression, resolver);
+            return c.evaluate(resolver);
         } catch (Exception e) {
             MMOSpawnPoint plugin = MMOSpawnPoint.getInstance();
             if (plugin != null && plugin.getConfigManager().getMainConfig().settings.debugMode) {
@@ -159,6 +167,22 @@ public class PlaceholderUtils {
         }
     }
 
+    /**
+     * Drop compiled expressions (config reload / disable).
+     */
+    public static void clearExpressionCache() {
+        COMPILED_CACHE.clear();
+    }
+
+    private static ExpressionEngine.CompiledExpression compiled(String expression) {
+        ExpressionEngine.CompiledExpression c = COMPILED_CACHE.get(expression);
+        if (c == null) {
+            c = ENGINE.compile(expression); // invalid expressions throw and are not cached
+            COMPILED_CACHE.putIfAbsent(expression, c);
+        }
+        return c;
+    }
+
     // ------------- Expression Engine -------------
 
     /**
@@ -179,45 +203,47 @@ public class PlaceholderUtils {
         );
 
         public boolean evaluate(String expr, Function<String, String> resolver) {
+            return compile(expr).evaluate(resolver);
+        }
+
+        /**
+         * Build an immutable expression tree. Literals are parsed once here; variables are
+         * resolved only when their value is needed, so && and || skip the right operand
+         * (and its placeholder/permission lookup) once the left one decides the result.
+         */
+        public CompiledExpression compile(String expr) {
             List<String> rpn = parseToRPN(expr);
-            Deque<Object> stack = new ArrayDeque<>();
+            Deque<Node> stack = new ArrayDeque<>();
 
             for (String token : rpn) {
                 if (OPERATORS.contains(token)) {
                     if (token.equals("!")) {
-                        Object a = stack.pop();
-                        boolean av = asBoolean(a);
-                        stack.push(!av);
-                    } else if (token.equals("&&") || token.equals("||")) {
-                        Object b = stack.pop();
-                        Object a = stack.pop();
-                        boolean av = asBoolean(a);
-                        boolean bv = asBoolean(b);
-                        stack.push(token.equals("&&") ? (av && bv) : (av || bv));
+                        stack.push(new Not(pop(stack, token)));
                     } else {
-                        // comparison operators
-                        Object b = stack.pop();
-                        Object a = stack.pop();
-                        int cmpMode = compareOperands(a, b);
-                        boolean res = switch (token) {
-                            case "==" -> cmpMode == 0;
-                            case "!=" -> cmpMode != 0;
-                            case ">" -> cmpMode > 0;
-                            case ">=" -> cmpMode >= 0;
-                            case "<" -> cmpMode < 0;
-                            case "<=" -> cmpMode <= 0;
-                            default -> false;
-                        };
-                        stack.push(res);
+                        Node b = pop(stack, token);
+                        Node a = pop(stack, token);
+                        stack.push(switch (token) {
+                            case "&&" -> new And(a, b);
+                            case "||" -> new Or(a, b);
+                            default -> new Compare(token, a, b);
+                        });
                     }
                 } else {
-                    // operand: resolve variables and normalize
-                    stack.push(resolveOperand(token, resolver));
+                    stack.push(operand(token));
                 }
             }
 
-            if (stack.isEmpty()) return false;
-            return asBoolean(stack.pop());
+            if (stack.size() != 1) {
+                throw new IllegalArgumentException(stack.isEmpty() ? "Empty expression" : "Missing operator");
+            }
+            return new CompiledExpression(stack.pop());
+        }
+
+        private static Node pop(Deque<Node> stack, String operator) {
+            if (stack.isEmpty()) {
+                throw new IllegalArgumentException("Missing operand for '" + operator + "'");
+            }
+            return stack.pop();
         }
 
         public List<String> parseToRPN(String expr) {
@@ -373,28 +399,26 @@ public class PlaceholderUtils {
             return "!".equals(op);
         }
 
-        private Object resolveOperand(String token, Function<String, String> resolver) {
+        private Node operand(String token) {
             // quoted string -> strip quotes
             if ((token.startsWith("\"") && token.endsWith("\""))) {
-                return token.substring(1, token.length() - 1);
+                return new Literal(token.substring(1, token.length() - 1));
             }
             // booleans
-            if ("true".equalsIgnoreCase(token)) return true;
-            if ("false".equalsIgnoreCase(token)) return false;
+            if ("true".equalsIgnoreCase(token)) return new Literal(true);
+            if ("false".equalsIgnoreCase(token)) return new Literal(false);
 
-            // try number
+            // try number (parsed as double to unify comparisons)
             try {
-                if (token.contains(".")) {
-                    return Double.parseDouble(token);
-                } else {
-                    // still parse as double to unify comparisons
-                    return Double.parseDouble(token);
-                }
+                return new Literal(Double.parseDouble(token));
             } catch (NumberFormatException ignored) {
             }
 
-            // variable -> resolve to string
-            String val = resolver.apply(token);
+            // variable -> resolved on evaluation
+            return new Variable(token);
+        }
+
+        private static Object normalize(String val) {
             if (val == null) val = "";
 
             // Try boolean
@@ -410,7 +434,7 @@ public class PlaceholderUtils {
             return val; // treat as string
         }
 
-        private boolean asBoolean(Object o) {
+        private static boolean asBoolean(Object o) {
             if (o instanceof Boolean b) return b;
             if (o instanceof Number n) return n.doubleValue() != 0.0;
             if (o instanceof String s) {
@@ -422,7 +446,7 @@ public class PlaceholderUtils {
             return false;
         }
 
-        private int compareOperands(Object a, Object b) {
+        private static int compareOperands(Object a, Object b) {
             // number vs number
             if (a instanceof Number an && b instanceof Number bn) {
                 return Double.compare(an.doubleValue(), bn.doubleValue());
@@ -432,5 +456,102 @@ public class PlaceholderUtils {
             String bs = String.valueOf(b);
             return as.compareTo(bs);
         }
+
+        // ------------- Compiled tree -------------
+
+        /**
+         * Parsed expression, immutable and safe to share between threads.
+         */
+        public static final class CompiledExpression {
+            private final Node root;
+
+            // Set when the whole expression is "name" or "!name" (detected once, at compile time)
+            private final String singleVariable;
+            private final boolean negated;
+
+            private CompiledExpression(Node root) {
+                this.root = root;
+                if (root instanceof Variable v) {
+                    this.singleVariable = v.name();
+                    this.negated = false;
+                } else if (root instanceof Not n && n.operand() instanceof Variable v) {
+                    this.singleVariable = v.name();
+                    this.negated = true;
+                } else {
+                    this.singleVariable = null;
+                    this.negated = false;
+                }
+            }
+
+            public boolean evaluate(Function<String, String> resolver) {
+                return asBoolean(root.eval(resolver));
+            }
+
+            /**
+             * @return the variable when the expression is a single variable, optionally negated; otherwise null
+             */
+            public String singleVariable() {
+                return singleVariable;
+            }
+
+            public boolean isNegated() {
+                return negated;
+            }
+        }
+
+        private interface Node {
+            Object eval(Function<String, String> resolver);
+        }
+
+        private record Literal(Object value) implements Node {
+            @Override
+            public Object eval(Function<String, String> resolver) {
+                return value;
+            }
+        }
+
+        private record Variable(String name) implements Node {
+            @Override
+            public Object eval(Function<String, String> resolver) {
+                return normalize(resolver.apply(name));
+            }
+        }
+
+        private record Not(Node operand) implements Node {
+            @Override
+            public Object eval(Function<String, String> resolver) {
+                return !asBoolean(operand.eval(resolver));
+            }
+        }
+
+        private record And(Node left, Node right) implements Node {
+            @Override
+            public Object eval(Function<String, String> resolver) {
+                return asBoolean(left.eval(resolver)) && asBoolean(right.eval(resolver));
+            }
+        }
+
+        private record Or(Node left, Node right) implements Node {
+            @Override
+            public Object eval(Function<String, String> resolver) {
+                return asBoolean(left.eval(resolver)) || asBoolean(right.eval(resolver));
+            }
+        }
+
+        private record Compare(String operator, Node left, Node right) implements Node {
+            @Override
+            public Object eval(Function<String, String> resolver) {
+                int cmp = compareOperands(left.eval(resolver), right.eval(resolver));
+                return switch (operator) {
+                    case "==" -> cmp == 0;
+                    case "!=" -> cmp != 0;
+                    case ">" -> cmp > 0;
+                    case ">=" -> cmp >= 0;
+                    case "<" -> cmp < 0;
+                    case "<=" -> cmp <= 0;
+                    default -> false;
+                };
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package uz.alex2276564.mmospawnpoint.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived cache of resolved placeholder values per player (settings.placeholderCache).
+ * <p>
+ * Opt-in per placeholder: only placeholders listed with a TTL are cached, each for its own TTL.
+ * Shared across spawn events, so slow placeholders (rank, faction, level) are resolved once per TTL
+ * even when many players die at the same time. A player's values are dropped when they quit.
+ */
+public final class PlaceholderValueCache {
+
+    private static volatile Cache<@NotNull Key, Value> CACHE;
+    private static volatile Map<String, Long> TTL_NANOS = Map.of();
+
+    // Settings (keep for snapshot)
+    private static volatile boolean enabled = false;
+    private static volatile int maxSize = 10000;
+
+    private static final AtomicLong hits = new AtomicLong(0);
+    private static final AtomicLong misses = new AtomicLong(0);
+
+    private record Key(UUID playerId, String placeholder) {
+    }
+
+    private record Value(String value, long ttlNanos) {
+    }
+
+    private static final Expiry<Key, Value> PER_ENTRY_TTL = new Expiry<>() {
+        @Override
+        public long expireAfterCreate(@NotNull Key key, @NotNull Value value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(@NotNull Key key, @NotNull Value value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(@NotNull Key key, @NotNull Value value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    };
+
+    private PlaceholderValueCache() {
+    }
+
+    /**
+     * @param ttlSeconds placeholder text (e.g. "%player_level%") -> seconds its value may be reused
+     */
+    public static void configure(boolean enabled, int maxSize, Map<String, Integer> ttlSeconds) {
+        PlaceholderValueCache.enabled = enabled;
+        PlaceholderValueCache.maxSize = maxSize;
+
+        Cache<Key, Value> old = CACHE;
+        if (old != null) old.invalidateAll();
+
+        if (!enabled || ttlSeconds == null || ttlSeconds.isEmpty()) {
+            CACHE = null;
+            TTL_NANOS = Map.of();
+            return;
+        }
+
+        TTL_NANOS = ttlSeconds.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        e -> e.getKey().trim(),
+                        e -> TimeUnit.SECONDS.toNanos(e.getValue()),
+                        (a, b) -> b));
+        CACHE = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(PER_ENTRY_TTL)
+                .build();
+    }
+
+    /**
+     * Cached value when the placeholder is opted in, otherwise resolved directly via {@code loader}.
+     * Loader failures propagate and are not cached.
+     */
+    public static String resolve(Player player, String placeholder, BiFunction<Player, String, String> loader) {
+        Cache<Key, Value> cache = CACHE;
+        Long ttl = cache != null ? TTL_NANOS.get(placeholder) : null;
+        if (ttl == null) {
+            return loader.apply(player, placeholder);
+        }
+
+        Key key = new Key(player.getUniqueId(), placeholder);
+        Value v = cache.getIfPresent(key);
+        if (v != null) {
+            hits.incrementAndGet();
+            return v.value();
+        }
+        misses.incrementAndGet();
+
+        String value = loader.apply(player, placeholder);
+        if (value != null) {
+            cache.put(key, new Value(value, ttl));
+        }
+        return value;
+    }
+
+    public static void clearPlayer(UUID playerId) {
+        Cache<Key, Value> cache = CACHE;
+        if (cache != null) {
+            cache.asMap().keySet().removeIf(k -> k.playerId().equals(playerId));
+        }
+    }
+
+    public static boolean isEnabled() {
+        return CACHE != null;
+    }
+
+    public static void clear() {
+        Cache<Key, Value> cache = CACHE;
+        if (cache != null) cache.invalidateAll();
+    }
+
+    // --------------- Snapshot ----------------
+
+    public record Snapshot(long hits, long misses, long size, boolean enabled, int placeholders, int maxSize) {
+    }
+
+    public static Snapshot snapshot() {
+        Cache<Key, Value> cache = CACHE;
+        return new Snapshot(
+                hits.get(),
+                misses.get(),
+                cache != null ? cache.estimatedSize() : 0L,
+                enabled,
+                TTL_NANOS.size(),
+                maxSize
+        );
+    }
+}
@@ -0,0 +1,103 @@
+package uz.alex2276564.mmospawnpoint.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of WorldGuard region ids per block position.
+ * <p>
+ * Kept free of WorldGuard types so it can be configured and inspected when WorldGuard is absent.
+ * Entries are not invalidated on region changes (add/remove/redefine, flags, priorities, reloads);
+ * the short expiry is the only bound on how long a lookup may be stale.
+ */
+public final class RegionLookupCache {
+
+    private static volatile Cache<@NotNull Key, Set<String>> CACHE;
+
+    // Settings (keep for snapshot)
+    private static volatile boolean enabled = true;
+    private static volatile long expiryMs = 1000;
+    private static volatile int maxSize = 5000;
+
+    private static final AtomicLong hits = new AtomicLong(0);
+    private static final AtomicLong misses = new AtomicLong(0);
+
+    private record Key(UUID worldId, int x, int y, int z) {
+    }
+
+    private RegionLookupCache() {
+    }
+
+    public static void configure(boolean enabled, long expiryMs, int maxSize) {
+        RegionLookupCache.enabled = enabled;
+        RegionLookupCache.expiryMs = expiryMs;
+        RegionLookupCache.maxSize = maxSize;
+
+        Cache<Key, Set<String>> old = CACHE;
+        if (old != null) old.invalidateAll();
+
+        if (!enabled) {
+            CACHE = null;
+            return;
+        }
+
+        CACHE = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expiryMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * @return cached region ids, or null on miss (absent or expired)
+     */
+    public static Set<String> get(UUID worldId, int x, int y, int z) {
+        Cache<Key, Set<String>> cache = CACHE;
+        if (cache == null) return null;
+
+        Set<String> regions = cache.getIfPresent(new Key(worldId, x, y, z));
+        if (regions != null) {
+            hits.incrementAndGet();
+            return regions;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public static void put(UUID worldId, int x, int y, int z, Set<String> regions) {
+        Cache<Key, Set<String>> cache = CACHE;
+        if (cache == null || regions == null) return;
+        cache.put(new Key(worldId, x, y, z), regions);
+    }
+
+    public static boolean isEnabled() {
+        return CACHE != null;
+    }
+
+    public static void clear() {
+        Cache<Key, Set<String>> cache = CACHE;
+        if (cache != null) cache.invalidateAll();
+    }
+
+    // --------------- Snapshot ----------------
+
+    public record Snapshot(long hits, long misses, long size, boolean enabled, long expiryMillis, int maxSize) {
+    }
+
+    public static Snapshot snapshot() {
+        Cache<Key, Set<String>> cache = CACHE;
+        return new Snapshot(
+                hits.get(),
+                misses.get(),
+                cache != null ? cache.estimatedSize() : 0L,
+                enabled,
+                expiryMs,
+                maxSize
+        );
+    }
+}
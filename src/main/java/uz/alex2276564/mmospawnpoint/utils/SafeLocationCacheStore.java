@@ -0,0 +1,328 @@
+package uz.alex2276564.mmospawnpoint.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.jetbrains.annotations.NotNull;
+import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
+import uz.alex2276564.mmospawnpoint.config.configs.mainconfig.MainConfig;
+import uz.alex2276564.mmospawnpoint.utils.runner.Runner;
+import uz.alex2276564.mmospawnpoint.utils.runner.TaskHandle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Optional on-disk copy of the safe-location cache (settings.safeLocationCache.persistence).
+ * <p>
+ * - One binary file per world in plugins/MMOSpawnPoint/cache, with a magic/version header
+ * - Each world is read asynchronously once it is loaded (startup or later world loads)
+ * - Written asynchronously on a schedule and on world unload, synchronously on shutdown and before a reload
+ * - A file is discarded when the world seed or border changed, or when it is older than the cache expiry
+ * - Restored spots get a full safety check on first use (see SafeLocationFinder)
+ */
+public final class SafeLocationCacheStore {
+    private static final String CACHE_DIR_NAME = "cache";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final int MAGIC = 0x4D535043; // "MSPC"
+    private static final short VERSION = 1;
+
+    /**
+     * World state the stored spots depend on, captured on the global thread.
+     */
+    private record WorldStamp(long seed, double borderX, double borderZ, double borderSize) {
+        static WorldStamp of(World world) {
+            WorldBorder b = world.getWorldBorder();
+            return new WorldStamp(world.getSeed(), b.getCenter().getX(), b.getCenter().getZ(), b.getSize());
+        }
+
+        boolean contains(double x, double z) {
+            double half = borderSize / 2.0;
+            return Math.abs(x - borderX) <= half && Math.abs(z - borderZ) <= half;
+        }
+    }
+
+    private final MMOSpawnPoint plugin;
+    private final Runner runner;
+    private final Path cacheDir;
+
+    // Worlds whose file was read (or found missing/discarded); only these are written back,
+    // so a flush never overwrites a file that was not restored yet
+    private final Set<String> readyWorlds = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingWorlds = ConcurrentHashMap.newKeySet();
+    private final Object ioLock = new Object();
+    private TaskHandle flushTimer;
+
+    public SafeLocationCacheStore(@NotNull MMOSpawnPoint plugin) {
+        this.plugin = plugin;
+        this.runner = plugin.getRunner();
+        this.cacheDir = plugin.getDataFolder().toPath().resolve(CACHE_DIR_NAME);
+    }
+
+    /**
+     * Write every ready world now, before a reload clears the in-memory cache, and stop writing until
+     * {@link #restart()} has read the files again (a flush of the cleared cache would delete them).
+     */
+    public void flushBeforeReload() {
+        if (flushTimer == null) return; // persistence was off
+        stopTimer();
+        write(captureStamps());
+        readyWorlds.clear();
+    }
+
+    /**
+     * (Re)start after the config was (re)loaded: restores loaded worlds not read yet and reschedules flushing.
+     * After a reload every loaded world is read again, since {@link #flushBeforeReload()} left none ready.
+     */
+    public void restart() {
+        stopTimer();
+        MainConfig.PersistenceSection cfg = settings();
+        if (!cfg.enabled) return;
+
+        for (World world : Bukkit.getWorlds()) {
+            loadWorldAsync(world);
+        }
+        long periodTicks = Runner.secondsToTicks(cfg.flushIntervalSeconds);
+        flushTimer = runner.runGlobalTimer(this::flushAsync, periodTicks, periodTicks);
+    }
+
+    /**
+     * Read the world's file in the background and add its entries to the cache. Call on the global thread.
+     */
+    public void loadWorldAsync(@NotNull World world) {
+        if (!settings().enabled || !SafeLocationFinder.isCacheActive()) return;
+        String name = world.getName();
+        if (readyWorlds.contains(name) || !pendingWorlds.add(name)) return;
+
+        WorldStamp stamp = WorldStamp.of(world);
+        long maxAgeMs = SafeLocationFinder.cacheExpiryMillis();
+        runner.runAsync(() -> {
+            try {
+                int restored = load(world, stamp, maxAgeMs);
+                if (restored > 0) {
+                    plugin.getLogger().info("[SafeLocationCache] Restored " + restored + " cache entries for world " + name);
+                }
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "[SafeLocationCache] Failed to read cache for world " + name, e);
+            } finally {
+                pendingWorlds.remove(name);
+                readyWorlds.add(name);
+            }
+        });
+    }
+
+    /**
+     * World unload: write its entries one last time, then stop tracking it. Call on the global thread.
+     */
+    public void forgetWorld(@NotNull World world) {
+        String name = world.getName();
+        if (!readyWorlds.remove(name) || !settings().enabled || !SafeLocationFinder.isCacheActive()) return;
+
+        WorldStamp stamp = WorldStamp.of(world);
+        List<SafeLocationFinder.PersistedEntry> entries = SafeLocationFinder.exportEntries(name);
+        runner.runAsync(() -> {
+            synchronized (ioLock) {
+                try {
+                    writeWorld(name, stamp, entries);
+                } catch (IOException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[SafeLocationCache] Failed to write cache for world " + name, ex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop flushing and write every ready world now (plugin disable).
+     */
+    public void shutdown() {
+        stopTimer();
+        if (!settings().enabled) return;
+        write(captureStamps());
+    }
+
+    private void flushAsync() {
+        Map<String, WorldStamp> stamps = captureStamps();
+        if (stamps.isEmpty()) return;
+        runner.runAsync(() -> write(stamps));
+    }
+
+    private void stopTimer() {
+        if (flushTimer != null) {
+            flushTimer.cancel();
+            flushTimer = null;
+        }
+    }
+
+    private MainConfig.PersistenceSection settings() {
+        return plugin.getConfigManager().getMainConfig().settings.safeLocationCache.persistence;
+    }
+
+    private Map<String, WorldStamp> captureStamps() {
+        Map<String, WorldStamp> stamps = new HashMap<>();
+        for (String name : readyWorlds) {
+            World world = Bukkit.getWorld(name);
+            if (world != null) {
+                stamps.put(name, WorldStamp.of(world));
+            }
+        }
+        return stamps;
+    }
+
+    // --------------- File format ----------------
+
+    private Path fileFor(String worldName) {
+        return cacheDir.resolve(worldName + FILE_SUFFIX);
+    }
+
+    private void write(Map<String, WorldStamp> stamps) {
+        if (!SafeLocationFinder.isCacheActive()) return;
+        synchronized (ioLock) {
+            for (Map.Entry<String, WorldStamp> e : stamps.entrySet()) {
+                // Unloaded or waiting to be read again after a reload since the stamps were captured
+                if (!readyWorlds.contains(e.getKey())) continue;
+                try {
+                    writeWorld(e.getKey(), e.getValue(), SafeLocationFinder.exportEntries(e.getKey()));
+                } catch (IOException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[SafeLocationCache] Failed to write cache for world " + e.getKey(), ex);
+                }
+            }
+        }
+    }
+
+    private void writeWorld(String worldName, WorldStamp stamp,
+                            List<SafeLocationFinder.PersistedEntry> entries) throws IOException {
+        Path file = fileFor(worldName);
+        if (entries.isEmpty()) {
+            Files.deleteIfExists(file);
+            return;
+        }
+
+        Files.createDirectories(cacheDir);
+        Path tmp = cacheDir.resolve(worldName + FILE_SUFFIX + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(stamp.seed());
+            out.writeDouble(stamp.borderX());
+            out.writeDouble(stamp.borderZ());
+            out.writeDouble(stamp.borderSize());
+            out.writeInt(entries.size());
+
+            for (SafeLocationFinder.PersistedEntry p : entries) {
+                out.writeUTF(p.typeTag());
+                out.writeBoolean(p.playerId() != null);
+                if (p.playerId() != null) {
+                    out.writeLong(p.playerId().getMostSignificantBits());
+                    out.writeLong(p.playerId().getLeastSignificantBits());
+                }
+                out.writeInt(p.x());
+                out.writeInt(p.z());
+                out.writeInt(p.minX());
+                out.writeInt(p.maxX());
+                out.writeInt(p.minY());
+                out.writeInt(p.maxY());
+                out.writeInt(p.minZ());
+                out.writeInt(p.maxZ());
+                out.writeLong(p.ySignature());
+                out.writeInt(p.wlHash());
+
+                out.writeByte(p.spots().size());
+                for (Location l : p.spots()) {
+                    out.writeDouble(l.getX());
+                    out.writeDouble(l.getY());
+                    out.writeDouble(l.getZ());
+                    out.writeFloat(l.getYaw());
+                    out.writeFloat(l.getPitch());
+                }
+            }
+        }
+        Files.move(tmp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    private int load(World world, WorldStamp stamp, long maxAgeMs) {
+        Path file = fileFor(world.getName());
+        if (!Files.isRegularFile(file)) return 0;
+
+        List<SafeLocationFinder.PersistedEntry> entries;
+        synchronized (ioLock) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                    discard(file, world, "unknown format");
+                    return 0;
+                }
+                long savedAt = in.readLong();
+                WorldStamp saved = new WorldStamp(in.readLong(), in.readDouble(), in.readDouble(), in.readDouble());
+                if (!saved.equals(stamp)) {
+                    discard(file, world, "world seed or border changed");
+                    return 0;
+                }
+                if (System.currentTimeMillis() - savedAt > maxAgeMs) {
+                    discard(file, world, "older than the cache expiry");
+                    return 0;
+                }
+
+                int count = in.readInt();
+                entries = new ArrayList<>(Math.max(0, count));
+                for (int i = 0; i < count; i++) {
+                    String tag = in.readUTF();
+                    UUID playerId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+                    int x = in.readInt();
+                    int z = in.readInt();
+                    int minX = in.readInt();
+                    int maxX = in.readInt();
+                    int minY = in.readInt();
+                    int maxY = in.readInt();
+                    int minZ = in.readInt();
+                    int maxZ = in.readInt();
+                    long ySignature = in.readLong();
+                    int wlHash = in.readInt();
+
+                    int spotCount = in.readUnsignedByte();
+                    List<Location> spots = new ArrayList<>(spotCount);
+                    for (int s = 0; s < spotCount; s++) {
+                        Location l = new Location(null, in.readDouble(), in.readDouble(), in.readDouble(),
+                                in.readFloat(), in.readFloat());
+                        if (stamp.contains(l.getX(), l.getZ())) {
+                            spots.add(l);
+                        }
+                    }
+                    if (!spots.isEmpty()) {
+                        entries.add(new SafeLocationFinder.PersistedEntry(tag, playerId, x, z,
+                                minX, maxX, minY, maxY, minZ, maxZ, ySignature, wlHash, spots));
+                    }
+                }
+            } catch (IOException e) {
+                discard(file, world, "unreadable (" + e.getMessage() + ")");
+                return 0;
+            }
+        }
+        return SafeLocationFinder.importEntries(world, entries);
+    }
+
+    private void discard(Path file, World world, String reason) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Overwritten by the next flush anyway
+        }
+        plugin.getLogger().info("[SafeLocationCache] Discarded stored cache for world " + world.getName() + ": " + reason);
+    }
+}
@@ -2,7 +2,7 @@ package uz.alex2276564.mmospawnpoint.utils;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -15,14 +15,18 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public class SafeLocationFinder {
 
-    // Cache via Caffeine
-    private static Cache<@NotNull CacheKey, Location> CACHE;
+    // Cache via Caffeine (each key holds a small ring of distinct verified locations).
+    // One instance per spawn type tag, so player-specific area entries cannot evict the shared point entries;
+    // tags without their own settings share DEFAULT_CACHE.
+    private static volatile Map<Integer, TypeCache> CACHES = Map.of();
+    private static volatile TypeCache DEFAULT_CACHE;
 
     // Global config-driven sets (fast membership)
     private static Set<Material> globalGroundBlacklist = EnumSet.noneOf(Material.class);
@@ -35,7 +39,9 @@ public class SafeLocationFinder {
     private static boolean cacheEnabled = true;
     private static long cacheExpiry = 300000; // ms
     private static int maxCacheSize = 1000;
+    private static int locationsPerKey = 4;
     private static boolean debugCache = false;
+    private static volatile boolean blockInvalidation = true;
 
     // Dimension-aware Y selection
     private enum DimYMode { MIXED, HIGHEST_ONLY, RANDOM_ONLY }
@@ -64,21 +70,222 @@ public class SafeLocationFinder {
 
     // Stats (for snapshot)
     private static final AtomicLong totalSearches = new AtomicLong(0);
+    private static final AtomicLong blockInvalidations = new AtomicLong(0);
 
     // Nether fallback Y
     private static final int DEFAULT_NETHER_Y = 64;
 
     private static final ConcurrentHashMap<String, Integer> MIN_Y_CACHE = new ConcurrentHashMap<>();
 
-    // Type-safe cache key
+    // Type-safe cache key: primitives only (world/type are interned ids, Y signature is packed);
+    // playerId is null for shared entries
     private record CacheKey(
-            String type, String worldName,
-            int x, int y, int z,
+            int type, int world,
+            int x, int z,
             int minX, int maxX, int minY, int maxY, int minZ, int maxZ,
-            UUID playerId, boolean playerSpecific,
-            String ySignature, int wlHash
+            UUID playerId,
+            long ySignature, int wlHash
     ) {}
 
+    /**
+     * Caffeine instance of one spawn type. Loads are the fresh searches run on a miss (for the average load time).
+     * Hits/misses are counted per lookup here (a hit = a cached spot was served); Caffeine stats would also count
+     * ring peeks and stores, so they are only used for evictions.
+     */
+    private static final class TypeCache {
+        final String tag;
+        final Cache<@NotNull CacheKey, LocationRing> cache;
+        final long expiryMs;
+        final int maxSize;
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong loads = new AtomicLong();
+        final AtomicLong loadNanos = new AtomicLong();
+
+        TypeCache(String tag, long expiryMs, int maxSize) {
+            this.tag = tag;
+            this.expiryMs = expiryMs;
+            this.maxSize = maxSize;
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(expiryMs, TimeUnit.MILLISECONDS)
+                    .recordStats()
+                    // Inline, so the reverse index never lags behind evictions
+                    .executor(Runnable::run)
+                    .removalListener((CacheKey key, LocationRing ring, RemovalCause cause) -> {
+                        if (key != null && ring != null && cause != RemovalCause.REPLACED) unindex(key, ring);
+                    })
+                    .build();
+        }
+
+        void recordLoad(long startNs) {
+            loads.incrementAndGet();
+            loadNanos.addAndGet(System.nanoTime() - startNs);
+        }
+
+        /**
+         * Records one lookup and passes the result through: a non-null spot from the ring is a hit.
+         */
+        @Nullable Location served(@Nullable Location cached) {
+            (cached != null ? hits : misses).incrementAndGet();
+            return cached;
+        }
+    }
+
+    /**
+     * Size and expiry of one spawn type's cache (see spawnTypeCaching in the main config).
+     */
+    public record TypeCacheSettings(String tag, long expiryMs, int maxSize) {
+    }
+
+    private static @Nullable TypeCache cacheFor(int typeId) {
+        TypeCache t = CACHES.get(typeId);
+        return (t != null) ? t : DEFAULT_CACHE;
+    }
+
+    private static List<TypeCache> allCaches() {
+        List<TypeCache> out = new ArrayList<>(CACHES.values());
+        TypeCache d = DEFAULT_CACHE;
+        if (d != null) out.add(d);
+        return out;
+    }
+
+    // Small int ids for world names and type tags (few distinct values, never cleared)
+    private static final ConcurrentHashMap<String, Integer> KEY_IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_KEY_ID = new AtomicInteger();
+
+    // Reverse index: chunk -> cache keys holding a spot in it (block changes drop only the spots they touch).
+    // Entries are removed with their cache key, or once the key has no spot left in that chunk.
+    private record ChunkRef(int world, int cx, int cz) {}
+
+    private static final ConcurrentHashMap<ChunkRef, Set<CacheKey>> KEYS_BY_CHUNK = new ConcurrentHashMap<>();
+
+    private static int keyId(@Nullable String name) {
+        if (name == null) return -1;
+        Integer id = KEY_IDS.get(name);
+        return (id != null) ? id : KEY_IDS.computeIfAbsent(name, k -> NEXT_KEY_ID.getAndIncrement());
+    }
+
+    /**
+     * Distinct verified locations cached under one key, handed out round-robin.
+     * A location that fails validation is removed on its own; the key is dropped only when the ring is empty.
+     * Spots restored from disk are flagged until they pass a full safety check on first use.
+     */
+    private static final class LocationRing {
+        private final Location[] slots;
+        private final boolean[] restored;
+        private int size;
+        private int cursor;
+
+        LocationRing(int capacity) {
+            this.slots = new Location[Math.max(1, capacity)];
+            this.restored = new boolean[slots.length];
+        }
+
+        synchronized boolean isFull() {
+            return size == slots.length;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized @Nullable Location next() {
+            if (size == 0) return null;
+            if (cursor >= size) cursor = 0;
+            return slots[cursor++];
+        }
+
+        /**
+         * Adds a location unless the ring is full or already holds the same block.
+         *
+         * @return true if added
+         */
+        synchronized boolean add(Location loc) {
+            if (size == slots.length) return false;
+            for (int i = 0; i < size; i++) {
+                Location l = slots[i];
+                if (l.getBlockX() == loc.getBlockX() && l.getBlockY() == loc.getBlockY() && l.getBlockZ() == loc.getBlockZ()) {
+                    return false;
+                }
+            }
+            restored[size] = false;
+            slots[size++] = loc;
+            return true;
+        }
+
+        synchronized boolean addRestored(Location loc) {
+            if (!add(loc)) return false;
+            restored[size - 1] = true;
+            return true;
+        }
+
+        synchronized boolean isRestored(Location loc) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == loc) return restored[i];
+            }
+            return false;
+        }
+
+        synchronized void markVerified(Location loc) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == loc) {
+                    restored[i] = false;
+                    return;
+                }
+            }
+        }
+
+        private void removeAt(int i) {
+            slots[i] = slots[--size];
+            restored[i] = restored[size];
+            slots[size] = null;
+            if (cursor > i) cursor--;
+        }
+
+        synchronized Location[] spots() {
+            return Arrays.copyOf(slots, size);
+        }
+
+        /**
+         * Drops spots whose ground, feet or head block is (x, y, z).
+         *
+         * @return number of spots dropped
+         */
+        synchronized int removeTouching(int x, int y, int z) {
+            int removed = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                Location l = slots[i];
+                int feetY = l.getBlockY();
+                if (l.getBlockX() == x && l.getBlockZ() == z && y >= feetY - 1 && y <= feetY + 1) {
+                    removeAt(i);
+                    removed++;
+                }
+            }
+            return removed;
+        }
+
+        synchronized boolean hasSpotInChunk(int cx, int cz) {
+            for (int i = 0; i < size; i++) {
+                if ((slots[i].getBlockX() >> 4) == cx && (slots[i].getBlockZ() >> 4) == cz) return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return true if the ring is empty afterwards
+         */
+        synchronized boolean remove(Location loc) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == loc) {
+                    removeAt(i);
+                    break;
+                }
+            }
+            return size == 0;
+        }
+    }
+
     // Lightweight fail tags for debug diagnostics
     public enum FailReason {
         FEET_NOT_PASSABLE,
@@ -91,21 +298,59 @@ public class SafeLocationFinder {
     private static final ThreadLocal<FailReason> TL_LAST_FAIL = new ThreadLocal<>();
 
     /**
-     * @param mode         mode: "mixed"|"highest_only"|"random_only" or "scan"
-     * @param first        for mixed only
-     * @param respectRange nether-only
-     */ // Per-call Y override (thread-local), similar to whitelist TL
-        public record YSelectionOverride(String mode, String first, Double firstShare, Boolean respectRange) {
-            public YSelectionOverride(String mode, String first, Double firstShare, Boolean respectRange) {
-                // mode: "mixed"|"highest_only"|"random_only" or "scan"
-                this.mode = (mode == null) ? null : mode.toLowerCase(Locale.ROOT);
-                // for mixed only
-                this.first = (first == null) ? null : first.toLowerCase(Locale.ROOT);
-                this.firstShare = firstShare;
-                // nether-only
-                this.respectRange = respectRange;
-            }
+     * Per-call Y override (thread-local), similar to whitelist TL.
+     * Codes used by the cache-key Y signature are computed once here (-1 = not overridden).
+     */
+    public static final class YSelectionOverride {
+        // mode: "mixed"|"highest_only"|"random_only" or "scan"
+        final String mode;
+        // for mixed only
+        final String first;
+        final Double firstShare;
+        // nether-only
+        final Boolean respectRange;
+
+        final int modeCode;
+        final int firstCode;
+        final int shareMillis;
+
+        public YSelectionOverride(String mode, String first, Double firstShare, Boolean respectRange) {
+            this.mode = (mode == null) ? null : mode.toLowerCase(Locale.ROOT);
+            this.first = (first == null) ? null : first.toLowerCase(Locale.ROOT);
+            this.firstShare = firstShare;
+            this.respectRange = respectRange;
+
+            this.modeCode = (this.mode == null) ? -1 : switch (this.mode) {
+                case "mixed" -> Y_MODE_MIXED;
+                case "highest_only" -> Y_MODE_HIGHEST;
+                case "random_only" -> Y_MODE_RANDOM;
+                case "scan" -> Y_MODE_SCAN;
+                default -> Y_MODE_UNKNOWN;
+            };
+            this.firstCode = (this.first == null) ? -1 : ("random".equals(this.first) ? 1 : 0);
+            this.shareMillis = (firstShare == null || firstShare.isNaN()) ? -1 : shareMillis(firstShare);
+        }
+    }
+
+    // Y-mode codes for the packed signature (DimYMode ordinals match the first three)
+    private static final int Y_MODE_MIXED = 0;
+    private static final int Y_MODE_HIGHEST = 1;
+    private static final int Y_MODE_RANDOM = 2;
+    private static final int Y_MODE_SCAN = 3;
+    private static final int Y_MODE_UNKNOWN = 15;
+
+    /**
+     * Ground whitelist compiled once (per destination) together with its cache-key hash.
+     * An empty set means "no whitelist" (global ground blacklist applies).
+     */
+    public record GroundWhitelist(Set<Material> materials, int hash) {
+        public static final GroundWhitelist NONE = new GroundWhitelist(Collections.emptySet(), 0);
+
+        public static GroundWhitelist of(@Nullable Set<Material> materials) {
+            if (materials == null || materials.isEmpty()) return NONE;
+            return new GroundWhitelist(materials, hashGroundWhitelist(materials));
         }
+    }
 
     private static final ThreadLocal<YSelectionOverride> Y_OVERRIDE_TL = new ThreadLocal<>();
 
@@ -121,27 +366,45 @@ public class SafeLocationFinder {
 
     // --------------- Configuration ----------------
 
-    public static void configureCaching(boolean enabled, long expiryMs, int maxSize, boolean debug) {
+    /**
+     * @param expiryMs defaults for tags without their own settings
+     * @param maxSize  defaults for tags without their own settings
+     * @param types    per-type cache settings (one Caffeine instance each)
+     */
+    public static void configureCaching(boolean enabled, long expiryMs, int maxSize, int perKey, boolean debug,
+                                        boolean invalidateOnBlockChange, List<TypeCacheSettings> types) {
         cacheEnabled = enabled;
         cacheExpiry = expiryMs;
         maxCacheSize = maxSize;
+        locationsPerKey = Math.max(1, perKey);
         debugCache = debug;
+        blockInvalidation = invalidateOnBlockChange;
 
-        if (!enabled) {
-            if (CACHE != null) CACHE.invalidateAll();
-            return;
+        List<TypeCache> old = allCaches();
+        CACHES = Map.of();
+        DEFAULT_CACHE = null;
+        for (TypeCache t : old) {
+            t.cache.invalidateAll();
         }
+        KEYS_BY_CHUNK.clear();
 
-        CACHE = Caffeine.newBuilder()
-                .maximumSize(maxSize)
-                .expireAfterWrite(expiryMs, TimeUnit.MILLISECONDS)
-                .recordStats()
-                .build();
+        if (!enabled) return;
+
+        Map<Integer, TypeCache> caches = new HashMap<>();
+        for (TypeCacheSettings t : types) {
+            caches.put(keyId(t.tag()), new TypeCache(t.tag(), t.expiryMs(), t.maxSize()));
+        }
+        CACHES = Map.copyOf(caches);
+        DEFAULT_CACHE = new TypeCache("OTHER", expiryMs, maxSize);
 
         if (debugCache) {
+            StringBuilder sb = new StringBuilder();
+            for (TypeCacheSettings t : types) {
+                sb.append(", ").append(t.tag()).append("=").append(t.maxSize()).append("/").append(t.expiryMs() / 1000).append("s");
+            }
             MMOSpawnPoint.getInstance().getLogger().info(
                     "[SafeLocationFinder] Cache configured - enabled: " + cacheEnabled +
-                            ", expiry: " + (expiryMs / 1000) + "s, maxSize: " + maxSize
+                            ", expiry: " + (expiryMs / 1000) + "s, maxSize: " + maxSize + ", perKey: " + locationsPerKey + sb
             );
         }
     }
@@ -260,12 +523,16 @@ public class SafeLocationFinder {
     // --------------- Cache public helpers ----------------
 
     public static void clearPlayerCache(UUID playerId) {
-        if (CACHE == null || playerId == null) return;
-        CACHE.asMap().keySet().removeIf(k -> k.playerSpecific && playerId.equals(k.playerId));
+        if (playerId == null) return;
+        for (TypeCache t : allCaches()) {
+            t.cache.asMap().keySet().removeIf(k -> playerId.equals(k.playerId));
+        }
     }
 
     public static void clearCache() {
-        if (CACHE != null) CACHE.invalidateAll();
+        for (TypeCache t : allCaches()) {
+            t.cache.invalidateAll();
+        }
         if (debugCache) {
             MMOSpawnPoint.getInstance().getLogger().info("[SafeLocationFinder] Cache cleared");
         }
@@ -312,7 +579,7 @@ public class SafeLocationFinder {
                             respect ? (int) Math.floor(minY) : resolveMinY(world));
                     y = hy + 1.0;
                 } else if (modeUse == NetherMode.HIGHEST_ONLY) {
-                    int hy = world.getHighestBlockYAt((int) Math.floor(x), (int) Math.floor(z));
+                    int hy = HeightmapCache.highestBlockY(world, (int) Math.floor(x), (int) Math.floor(z));
                     y = clamp(hy + 1.0, minY, maxY);
                 } else { // RANDOM_ONLY
                     y = minY + ThreadLocalRandom.current().nextDouble(Math.max(1.0, (maxY - minY)));
@@ -381,7 +648,7 @@ public class SafeLocationFinder {
                 }
 
                 if (dimMode == DimYMode.HIGHEST_ONLY) {
-                    int hy = world.getHighestBlockYAt((int) Math.floor(x), (int) Math.floor(z));
+                    int hy = HeightmapCache.highestBlockY(world, (int) Math.floor(x), (int) Math.floor(z));
                     y = clamp(hy + 1.0, minY, maxY);
                 } else if (dimMode == DimYMode.RANDOM_ONLY) {
                     y = minY + ThreadLocalRandom.current().nextDouble(Math.max(1.0, (maxY - minY)));
@@ -390,7 +657,7 @@ public class SafeLocationFinder {
                             ? (dimFirst == MixedFirstGroup.HIGHEST ? 0 : 1)
                             : (dimFirst == MixedFirstGroup.HIGHEST ? 1 : 0);
                     if (firstPick == 0) { // highest first
-                        int hy = world.getHighestBlockYAt((int) Math.floor(x), (int) Math.floor(z));
+                        int hy = HeightmapCache.highestBlockY(world, (int) Math.floor(x), (int) Math.floor(z));
                         y = clamp(hy + 1.0, minY, maxY);
                     } else { // random first
                         y = minY + ThreadLocalRandom.current().nextDouble(Math.max(1.0, (maxY - minY)));
@@ -398,8 +665,10 @@ public class SafeLocationFinder {
                 }
             }
 
-            Location loc = new Location(world, x, y, z);
-            return isSafeLocation(loc) ? loc.clone() : null;
+            // Probe by block coordinates; a Location is only built for a safe spot
+            return isSafeAt(world, (int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z))
+                    ? new Location(world, x, y, z)
+                    : null;
         });
     }
 
@@ -414,7 +683,10 @@ public class SafeLocationFinder {
 
             double offsetX = ThreadLocalRandom.current().nextDouble(-radius, radius);
             double offsetZ = ThreadLocalRandom.current().nextDouble(-radius, radius);
-            Location test = baseLocation.clone().add(offsetX, 0.0, offsetZ);
+            double tx = baseLocation.getX() + offsetX;
+            double tz = baseLocation.getZ() + offsetZ;
+            int bx = (int) Math.floor(tx);
+            int bz = (int) Math.floor(tz);
 
             double y;
             if (env == World.Environment.NETHER) {
@@ -428,10 +700,10 @@ public class SafeLocationFinder {
                         : netherMode;
 
                 if (modeUse == NetherMode.SCAN) {
-                    int hy = findSafeYInNether(world, test.getBlockX(), test.getBlockZ(), world.getMaxHeight(), resolveMinY(world));
+                    int hy = findSafeYInNether(world, bx, bz, world.getMaxHeight(), resolveMinY(world));
                     y = hy + 1.0;
                 } else if (modeUse == NetherMode.HIGHEST_ONLY) {
-                    int hy = world.getHighestBlockYAt(test.getBlockX(), test.getBlockZ());
+                    int hy = HeightmapCache.highestBlockY(world, bx, bz);
                     y = hy + 1.0;
                 } else { // RANDOM_ONLY (no explicit range for near)
                     int minY = resolveMinY(world);
@@ -440,12 +712,13 @@ public class SafeLocationFinder {
                 }
             } else {
                 // Keep near-search simple for OW/END (highest), to avoid surprises
-                int hy = world.getHighestBlockYAt(test.getBlockX(), test.getBlockZ());
+                int hy = HeightmapCache.highestBlockY(world, bx, bz);
                 y = hy + 1.0;
             }
 
-            test.setY(y);
-            return isSafeLocation(test) ? test.clone() : null;
+            return isSafeAt(world, bx, (int) Math.floor(y), bz)
+                    ? new Location(world, tx, y, tz, baseLocation.getYaw(), baseLocation.getPitch())
+                    : null;
         });
     }
 
@@ -527,10 +800,16 @@ public class SafeLocationFinder {
     public static boolean isSafeLocation(Location location) {
         World world = location.getWorld();
         if (world == null) return false;
+        return isSafeAt(world, location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
 
-        Block feet = location.getBlock();
-        Block head = location.clone().add(0, 1, 0).getBlock();
-        Block ground = location.clone().subtract(0, 1, 0).getBlock();
+    /**
+     * isSafeLocation by block coordinates (feet at feetY), without Location copies per probe.
+     */
+    public static boolean isSafeAt(World world, int x, int feetY, int z) {
+        Block feet = world.getBlockAt(x, feetY, z);
+        Block head = world.getBlockAt(x, feetY + 1, z);
+        Block ground = world.getBlockAt(x, feetY - 1, z);
 
         if (!isPassableSafe(feet)) {
             TL_LAST_FAIL.set(FailReason.FEET_NOT_PASSABLE);
@@ -550,6 +829,28 @@ public class SafeLocationFinder {
         return true;
     }
 
+    /**
+     * Same as isSafeLocation, with a per-call ground whitelist.
+     */
+    public static boolean isSafeLocation(Location location, Set<Material> groundWhitelist) {
+        return withWhitelist(groundWhitelist, () -> isSafeLocation(location));
+    }
+
+    // Material-only checks (no Block access) for snapshot evaluation off the tick thread.
+    // Passability is approximated by !isSolid; results must be confirmed with isSafeLocation.
+
+    public static boolean isPassableMaterial(Material type) {
+        return !type.isSolid() && !globalPassableBlacklist.contains(type);
+    }
+
+    public static boolean isGroundMaterialAllowed(Material type, @Nullable Set<Material> groundWhitelist) {
+        if (!type.isSolid()) return false;
+        if (groundWhitelist != null && !groundWhitelist.isEmpty()) {
+            return groundWhitelist.contains(type);
+        }
+        return !globalGroundBlacklist.contains(type);
+    }
+
     private static boolean isPassableSafe(Block block) {
         Material type = block.getType();
         return block.isPassable() && !globalPassableBlacklist.contains(type);
@@ -581,57 +882,71 @@ public class SafeLocationFinder {
 
     private static int hashGroundWhitelist(@Nullable Set<Material> wl) {
         if (wl == null || wl.isEmpty()) return 0;
-        // Stable hash: sort by name to avoid iteration order issues
-        List<String> names = new ArrayList<>(wl.size());
-        for (Material m : wl) names.add(m.name());
-        Collections.sort(names);
-        return names.hashCode();
+        // Order-independent and stable across restarts (name hashes, not ordinals); no allocation
+        int h = wl.size();
+        for (Material m : wl) {
+            int x = m.name().hashCode() * 0x9E3779B9;
+            h += x ^ (x >>> 16);
+        }
+        return h;
+    }
+
+    private static int shareMillis(double share) {
+        return (int) Math.round(Math.max(0.0, Math.min(1.0, share)) * 1000.0);
     }
 
-    private static String currentYSignature(@NotNull World world) {
-        // Build signature from override (if present) or global settings
+    private static long packYSignature(int env, int mode, int first, int shareMillis, boolean respectRange) {
+        return env
+                | ((long) mode << 4)
+                | ((long) first << 8)
+                | ((respectRange ? 1L : 0L) << 10)
+                | ((long) shareMillis << 16);
+    }
+
+    /**
+     * Effective Y selection (override, else global settings) packed into a long for cache keys.
+     * Only the fields that matter for the world's environment are included.
+     */
+    private static long currentYSignature(@NotNull World world) {
         YSelectionOverride o = Y_OVERRIDE_TL.get();
         World.Environment env = world.getEnvironment();
 
         if (env == World.Environment.NETHER) {
-            String mode = (o != null && o.mode != null) ? o.mode : switch (netherMode) {
-                case SCAN -> "scan";
-                case HIGHEST_ONLY -> "highest_only";
-                case RANDOM_ONLY -> "random_only";
+            int mode = (o != null && o.modeCode >= 0) ? o.modeCode : switch (netherMode) {
+                case SCAN -> Y_MODE_SCAN;
+                case HIGHEST_ONLY -> Y_MODE_HIGHEST;
+                case RANDOM_ONLY -> Y_MODE_RANDOM;
             };
             boolean respect = (o != null && o.respectRange != null) ? o.respectRange : netherRespectRange;
-            return "n:" + mode + ";rr=" + respect;
-        } else if (env == World.Environment.THE_END) {
-            String mode = (o != null && o.mode != null) ? o.mode : switch (endMode) {
-                case MIXED -> "mixed";
-                case HIGHEST_ONLY -> "highest_only";
-                case RANDOM_ONLY -> "random_only";
-            };
-            String first = (o != null && o.first != null) ? o.first : (endFirst == MixedFirstGroup.RANDOM ? "random" : "highest");
-            double share = (o != null && o.firstShare != null) ? o.firstShare : endShare;
-            return "e:" + mode + ";f=" + first + ";s=" + String.format(java.util.Locale.ROOT, "%.3f", share);
+            return packYSignature(1, mode, 0, 0, respect);
+        }
+
+        int envCode;
+        DimYMode gMode;
+        MixedFirstGroup gFirst;
+        double gShare;
+        if (env == World.Environment.THE_END) {
+            envCode = 2;
+            gMode = endMode;
+            gFirst = endFirst;
+            gShare = endShare;
         } else if (env == World.Environment.CUSTOM) {
-            String mode = (o != null && o.mode != null) ? o.mode : switch (customMode) {
-                case MIXED -> "mixed";
-                case HIGHEST_ONLY -> "highest_only";
-                case RANDOM_ONLY -> "random_only";
-            };
-            String first = (o != null && o.first != null) ? o.first
-                    : (customFirst == MixedFirstGroup.RANDOM ? "random" : "highest");
-            double share = (o != null && o.firstShare != null) ? o.firstShare : customShare;
-            return "cu:" + mode + ";f=" + first + ";s=" + String.format(Locale.ROOT, "%.3f", share);
+            envCode = 3;
+            gMode = customMode;
+            gFirst = customFirst;
+            gShare = customShare;
         } else {
             // Overworld / fallback
-            String mode = (o != null && o.mode != null) ? o.mode : switch (owMode) {
-                case MIXED -> "mixed";
-                case HIGHEST_ONLY -> "highest_only";
-                case RANDOM_ONLY -> "random_only";
-            };
-            String first = (o != null && o.first != null) ? o.first
-                    : (owFirst == MixedFirstGroup.RANDOM ? "random" : "highest");
-            double share = (o != null && o.firstShare != null) ? o.firstShare : owShare;
-            return "ow:" + mode + ";f=" + first + ";s=" + String.format(Locale.ROOT, "%.3f", share);
+            envCode = 0;
+            gMode = owMode;
+            gFirst = owFirst;
+            gShare = owShare;
         }
+
+        int mode = (o != null && o.modeCode >= 0) ? o.modeCode : gMode.ordinal();
+        int first = (o != null && o.firstCode >= 0) ? o.firstCode : (gFirst == MixedFirstGroup.RANDOM ? 1 : 0);
+        int share = (o != null && o.shareMillis >= 0) ? o.shareMillis : shareMillis(gShare);
+        return packYSignature(envCode, mode, first, share, false);
     }
 
     private static double clamp(double v, double min, double max) {
@@ -645,128 +960,527 @@ public class SafeLocationFinder {
      */
     public static @Nullable Location cachedFindSafeNear(Location base,
                                                         int radius,
-                                                        Set<Material> groundWhitelist,
+                                                        GroundWhitelist whitelist,
                                                         UUID playerId,
                                                         boolean playerSpecific,
                                                         boolean enabled,
                                                         String typeTag,
                                                         @Nullable Predicate<Location> accept) {
-        if (!enabled || !cacheEnabled || CACHE == null || base == null || base.getWorld() == null) {
+        Set<Material> groundWhitelist = whitelist.materials();
+        TypeCache tc = cacheFor(keyId(typeTag));
+        if (!enabled || !cacheEnabled || tc == null || base == null || base.getWorld() == null) {
             return attemptSafeNearOnce(base, radius, groundWhitelist);
         }
 
         String world = base.getWorld().getName();
         int bx = base.getBlockX();
         int bz = base.getBlockZ();
-        int wlHash = hashGroundWhitelist(groundWhitelist);
-        String ySig = currentYSignature(base.getWorld());
+        int wlHash = whitelist.hash();
+        long ySig = currentYSignature(base.getWorld());
 
         CacheKey key = new CacheKey(
-                typeTag, world,
-                bx, 0, bz, // Y intentionally ignored for near
+                keyId(typeTag), keyId(world),
+                bx, bz, // Y intentionally ignored for near
                 0, 0, 0, 0, 0, 0,
                 playerSpecific ? playerId : null,
-                playerSpecific,
                 ySig, wlHash
         );
 
-        Location cached = CACHE.getIfPresent(key);
-        if (cached != null) {
-            boolean ok = withWhitelist(groundWhitelist, () -> isSafeLocation(cached));
-            if (ok && (accept == null || accept.test(cached))) {
+        // Hits are always re-checked against the live blocks (ground/feet/head): not every change fires
+        // an event (buckets, fire, WorldEdit, /fill). Block-change invalidation only drops spots early.
+        Predicate<Location> safe = c -> withWhitelist(groundWhitelist, () -> isSafeLocation(c));
+        Predicate<Location> valid = c -> safe.test(c) && (accept == null || accept.test(c));
+
+        // Plain map read: peeking at a ring that may still be filling is not a lookup yet
+        LocationRing ring = tc.cache.asMap().get(key);
+        if (ring != null && ring.isFull()) {
+            Location hit = takeValidated(tc, key, ring, valid, safe);
+            if (hit != null) {
                 if (debugCache) {
-                    MMOSpawnPoint.getInstance().getLogger().info("[SafeLocationFinder] NEAR HIT " + typeTag + " @" + world + " (" + bx + "," + bz + ") ySig=" + ySig + " wl=" + wlHash);
+                    MMOSpawnPoint.getInstance().getLogger().info("[SafeLocationFinder] NEAR HIT " + typeTag + " @" + world + " (" + bx + "," + bz + ") ySig=" + Long.toHexString(ySig) + " wl=" + wlHash);
                 }
-                return cached.clone();
-            }
-            // invalidate stale/unsafe cached
-            CACHE.invalidate(key);
-            if (debugCache) {
-                MMOSpawnPoint.getInstance().getLogger().info("[SafeLocationFinder] NEAR INVALIDATED cached entry @" + world + " (" + bx + "," + bz + ")");
+                return tc.served(hit);
             }
         } else if (debugCache) {
-            MMOSpawnPoint.getInstance().getLogger().info("[SafeLocationFinder] NEAR MISS " + typeTag + " @" + world + " (" + bx + "," + bz + ")");
+            MMOSpawnPoint.getInstance().getLogger().info("[SafeLocationFinder] NEAR " + (ring == null ? "MISS " : "FILL ") + typeTag + " @" + world + " (" + bx + "," + bz + ")");
         }
 
+        long loadStart = System.nanoTime();
         @SuppressWarnings("squid:S2583") // SonarLint false positive
         Location found = attemptSafeNearOnce(base, radius, groundWhitelist);
-        if (found != null && (accept == null || accept.test(found))) {
-            CACHE.put(key, found.clone());
+        tc.recordLoad(loadStart);
+        if (found != null) {
+            if (accept == null || accept.test(found)) {
+                addSpot(tc, key, found.clone());
+            }
+            tc.served(null);
+            return found;
         }
-        return found;
+        // Fresh attempt failed: a ring that is still filling can serve its spots
+        return tc.served((ring != null && !ring.isFull()) ? takeValidated(tc, key, ring, valid, safe) : null);
     }
 
     // Cached area lookup with validation predicate:
-    // - on hit: if !accept.test(cached) -> invalidate + recompute
+    // - while the key's ring is filling: recompute and add accepted results (cached spots are the fallback)
+    // - once full: hand out cached spots round-robin; a spot failing accept is evicted on its own
     // - on recompute: if result accepted -> store, else don't store
     public static Location cachedFindSafeInAreaValidated(World world,
                                                          double minX, double maxX,
                                                          double minY, double maxY,
                                                          double minZ, double maxZ,
-                                                         Set<Material> groundWhitelist,
+                                                         GroundWhitelist whitelist,
                                                          UUID playerId,
                                                          boolean playerSpecific,
                                                          boolean enabled,
                                                          String typeTag,
                                                          java.util.function.Predicate<Location> accept) {
-        if (!enabled || !cacheEnabled || CACHE == null || world == null) {
-            Location fresh = attemptSafeInAreaOnce(world, minX, maxX, minY, maxY, minZ, maxZ, groundWhitelist);
+        Set<Material> groundWhitelist = whitelist.materials();
+        TypeCache tc = cacheFor(keyId(typeTag));
+        if (!enabled || !cacheEnabled || tc == null || world == null) {
+            Location fresh = (world == null) ? null
+                    : freshInArea(world, minX, maxX, minY, maxY, minZ, maxZ, groundWhitelist, accept);
             return (fresh != null && (accept == null || accept.test(fresh))) ? fresh : null;
         }
 
-        String wname = world.getName();
         int kMinX = (int) Math.floor(Math.min(minX, maxX));
         int kMaxX = (int) Math.floor(Math.max(minX, maxX));
         int kMinY = (int) Math.floor(Math.min(minY, maxY));
         int kMaxY = (int) Math.floor(Math.max(minY, maxY));
         int kMinZ = (int) Math.floor(Math.min(minZ, maxZ));
         int kMaxZ = (int) Math.floor(Math.max(minZ, maxZ));
-        int wlHash = hashGroundWhitelist(groundWhitelist);
-        String ySig = currentYSignature(world);
+        long ySig = currentYSignature(world);
 
         CacheKey key = new CacheKey(
-                typeTag, wname,
-                0, 0, 0,
+                keyId(typeTag), keyId(world.getName()),
+                0, 0,
                 kMinX, kMaxX, kMinY, kMaxY, kMinZ, kMaxZ,
                 playerSpecific ? playerId : null,
-                playerSpecific,
-                ySig, wlHash
+                ySig, whitelist.hash()
         );
 
-        Location cached = CACHE.getIfPresent(key);
-        if (cached != null) {
-            if (accept == null || accept.test(cached)) {
-                return cached.clone();
-            }
-            CACHE.invalidate(key);
+        Predicate<Location> valid = accept == null ? c -> true : accept;
+        Predicate<Location> safe = c -> withWhitelist(groundWhitelist, () -> isSafeLocation(c));
+
+        // Plain map read: peeking at a ring that may still be filling is not a lookup yet
+        LocationRing ring = tc.cache.asMap().get(key);
+        if (ring != null && ring.isFull()) {
+            Location hit = takeValidated(tc, key, ring, valid, safe);
+            if (hit != null) return tc.served(hit);
         }
 
-        Location fresh = attemptSafeInAreaOnce(world, minX, maxX, minY, maxY, minZ, maxZ, groundWhitelist);
+        long loadStart = System.nanoTime();
+        Location fresh = freshInArea(world, minX, maxX, minY, maxY, minZ, maxZ, groundWhitelist, accept);
+        tc.recordLoad(loadStart);
         if (fresh != null && (accept == null || accept.test(fresh))) {
-            CACHE.put(key, fresh.clone());
+            addSpot(tc, key, fresh.clone());
+            tc.served(null);
             return fresh;
         }
+        // Fresh attempt failed: a ring that is still filling can serve its spots
+        return tc.served((ring != null && !ring.isFull()) ? takeValidated(tc, key, ring, valid, safe) : null);
+    }
+
+    private static void addSpot(TypeCache tc, CacheKey key, Location loc) {
+        if (tc.cache.asMap().computeIfAbsent(key, k -> new LocationRing(locationsPerKey)).add(loc)) {
+            indexSpot(key, loc);
+        }
+    }
+
+    private static void indexSpot(CacheKey key, Location loc) {
+        if (!blockInvalidation) return;
+        KEYS_BY_CHUNK.computeIfAbsent(new ChunkRef(key.world(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4),
+                k -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    private static void unindex(CacheKey key, LocationRing ring) {
+        if (KEYS_BY_CHUNK.isEmpty()) return;
+        for (Location l : ring.spots()) {
+            unindexChunk(key, l.getBlockX() >> 4, l.getBlockZ() >> 4);
+        }
+    }
+
+    private static void unindexChunk(CacheKey key, int cx, int cz) {
+        KEYS_BY_CHUNK.computeIfPresent(new ChunkRef(key.world(), cx, cz), (ref, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Drops cached spots whose ground, feet or head block is (x, y, z); called for block changes.
+     * Only keys indexed for the block's chunk are touched; a key is removed once its ring is empty.
+     */
+    public static void invalidateBlock(World world, int x, int y, int z) {
+        if (!cacheEnabled || !blockInvalidation || KEYS_BY_CHUNK.isEmpty()) return;
+
+        int cx = x >> 4;
+        int cz = z >> 4;
+        ChunkRef ref = new ChunkRef(keyId(world.getName()), cx, cz);
+        Set<CacheKey> keys = KEYS_BY_CHUNK.get(ref);
+        if (keys == null) return;
+
+        for (CacheKey key : keys) {
+            TypeCache tc = cacheFor(key.type());
+            LocationRing ring = (tc != null) ? tc.cache.asMap().get(key) : null;
+            if (ring == null) {
+                keys.remove(key);
+                continue;
+            }
+            int removed = ring.removeTouching(x, y, z);
+            if (removed == 0) continue;
+            blockInvalidations.addAndGet(removed);
+            // Dropped here, not by the removal listener: an emptied ring no longer lists its chunks
+            if (!ring.hasSpotInChunk(cx, cz)) {
+                keys.remove(key);
+            }
+            if (ring.size() == 0) {
+                tc.cache.asMap().remove(key, ring);
+            }
+            if (debugCache) {
+                MMOSpawnPoint.getInstance().getLogger().info("[SafeLocationFinder] Block change @" + world.getName()
+                        + " (" + x + "," + y + "," + z + ") dropped " + removed + " cached spot(s)");
+            }
+        }
+        KEYS_BY_CHUNK.computeIfPresent(ref, (r, set) -> set.isEmpty() ? null : set);
+    }
+
+    /**
+     * Round-robin over the ring until a spot passes validation. Failing spots are evicted one by one;
+     * the key itself is invalidated only when its ring becomes empty.
+     * Spots restored from disk must also pass safe once before they are trusted like fresh ones.
+     */
+    private static @Nullable Location takeValidated(TypeCache tc, CacheKey key, LocationRing ring,
+                                                    Predicate<Location> valid, Predicate<Location> safe) {
+        for (int i = ring.size(); i > 0; i--) {
+            Location c = ring.next();
+            if (c == null) break;
+            boolean restored = ring.isRestored(c);
+            if ((!restored || safe.test(c)) && valid.test(c)) {
+                if (restored) ring.markVerified(c);
+                return c.clone();
+            }
+            boolean emptied = ring.remove(c);
+            // Unindexed here: the removal listener of an emptied ring has no spots left to unindex
+            int cx = c.getBlockX() >> 4;
+            int cz = c.getBlockZ() >> 4;
+            if (!ring.hasSpotInChunk(cx, cz)) {
+                unindexChunk(key, cx, cz);
+            }
+            if (emptied) {
+                tc.cache.asMap().remove(key, ring);
+                break;
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable Location freshInArea(World world,
+                                                  double minX, double maxX,
+                                                  double minY, double maxY,
+                                                  double minZ, double maxZ,
+                                                  Set<Material> groundWhitelist,
+                                                  @Nullable Predicate<Location> accept) {
+        if (!columnScanApplies(world, minX, maxX, minZ, maxZ)) {
+            return attemptSafeInAreaOnce(world, minX, maxX, minY, maxY, minZ, maxZ, groundWhitelist);
+        }
+        // The scan replaces only the heightmap group; the random group (random_only, mixed share) keeps random Y
+        return rollHighestGroup(world)
+                ? scanSafeColumnsOnce(world, minX, maxX, minY, maxY, minZ, maxZ, groundWhitelist, accept)
+                : attemptRandomYInAreaOnce(world, minX, maxX, minY, maxY, minZ, maxZ, groundWhitelist);
+    }
+
+    // --------------- Persistence (SafeLocationCacheStore) ----------------
+
+    /**
+     * Cache entry in a restart-stable form: interned ids are replaced by the type tag (the world is implied
+     * by the file). Spots are copies without a world.
+     */
+    record PersistedEntry(String typeTag, @Nullable UUID playerId,
+                          int x, int z,
+                          int minX, int maxX, int minY, int maxY, int minZ, int maxZ,
+                          long ySignature, int wlHash,
+                          List<Location> spots) {
+    }
+
+    static boolean isCacheActive() {
+        return cacheEnabled && DEFAULT_CACHE != null;
+    }
+
+    /**
+     * Longest expiry across the type caches (persisted data older than this is useless).
+     */
+    static long cacheExpiryMillis() {
+        long max = cacheExpiry;
+        for (TypeCache t : allCaches()) {
+            max = Math.max(max, t.expiryMs);
+        }
+        return max;
+    }
+
+    static List<PersistedEntry> exportEntries(String worldName) {
+        Integer worldId = KEY_IDS.get(worldName);
+        if (!isCacheActive() || worldId == null) return List.of();
+
+        Map<Integer, String> tags = new HashMap<>();
+        KEY_IDS.forEach((name, id) -> tags.put(id, name));
+
+        List<PersistedEntry> out = new ArrayList<>();
+        for (TypeCache tc : allCaches()) {
+            for (Map.Entry<CacheKey, LocationRing> e : tc.cache.asMap().entrySet()) {
+                CacheKey k = e.getKey();
+                if (k.world() != worldId) continue;
+                String tag = tags.get(k.type());
+                if (tag == null) continue;
+
+                Location[] spots = e.getValue().spots();
+                if (spots.length == 0) continue;
+                List<Location> copies = new ArrayList<>(spots.length);
+                for (Location l : spots) {
+                    copies.add(new Location(null, l.getX(), l.getY(), l.getZ(), l.getYaw(), l.getPitch()));
+                }
+                out.add(new PersistedEntry(tag, k.playerId(), k.x(), k.z(),
+                        k.minX(), k.maxX(), k.minY(), k.maxY(), k.minZ(), k.maxZ(),
+                        k.ySignature(), k.wlHash(), copies));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Adds persisted entries for world, flagged for a full safety check on first use.
+     * Keys already present in the cache are left untouched.
+     *
+     * @return number of entries restored
+     */
+    static int importEntries(World world, List<PersistedEntry> entries) {
+        if (!isCacheActive()) return 0;
+
+        int worldId = keyId(world.getName());
+        int restored = 0;
+        for (PersistedEntry p : entries) {
+            int typeId = keyId(p.typeTag());
+            TypeCache tc = cacheFor(typeId);
+            if (tc == null) return restored;
+            Cache<CacheKey, LocationRing> cache = tc.cache;
+
+            CacheKey key = new CacheKey(typeId, worldId, p.x(), p.z(),
+                    p.minX(), p.maxX(), p.minY(), p.maxY(), p.minZ(), p.maxZ(),
+                    p.playerId(), p.ySignature(), p.wlHash());
+            if (cache.asMap().containsKey(key)) continue;
+
+            LocationRing ring = new LocationRing(locationsPerKey);
+            for (Location l : p.spots()) {
+                l.setWorld(world);
+                ring.addRestored(l);
+            }
+            if (ring.size() == 0 || cache.asMap().putIfAbsent(key, ring) != null) continue;
+            for (Location l : ring.spots()) {
+                indexSpot(key, l);
+            }
+            restored++;
+        }
+        return restored;
+    }
+
+    // --------------- Column scan (one pass per loaded chunk) ----------------
+
+    private static final int MAX_SCAN_COLUMNS = 256;
+
+    // Forces the random group for one attempt (dimension Y policy already rolled by the caller)
+    private static final YSelectionOverride RANDOM_Y = new YSelectionOverride("random_only", null, null, null);
+
+    /**
+     * Column scan is used outside the Nether when the area fits in one chunk, as the heightmap group of the
+     * dimension's Y policy. Nether (roof heightmap) keeps the single-sample attempt.
+     */
+    private static boolean columnScanApplies(World world, double minX, double maxX, double minZ, double maxZ) {
+        if (world.getEnvironment() == World.Environment.NETHER) return false;
+
+        long columns = ((long) Math.floor(Math.max(minX, maxX)) - (long) Math.floor(Math.min(minX, maxX)) + 1)
+                * ((long) Math.floor(Math.max(minZ, maxZ)) - (long) Math.floor(Math.min(minZ, maxZ)) + 1);
+        return columns <= MAX_SCAN_COLUMNS;
+    }
+
+    /**
+     * Rolls the Y group of one attempt outside the Nether (same policy and override rules as
+     * {@link #attemptSafeInAreaOnce}): true for the heightmap group, false for the random group.
+     */
+    private static boolean rollHighestGroup(World world) {
+        DimYMode dimMode;
+        MixedFirstGroup dimFirst;
+        double dimShare;
+        switch (world.getEnvironment()) {
+            case THE_END -> {
+                dimMode = endMode; dimFirst = endFirst; dimShare = endShare;
+            }
+            case CUSTOM -> {
+                dimMode = customMode; dimFirst = customFirst; dimShare = customShare;
+            }
+            default -> {
+                dimMode = owMode; dimFirst = owFirst; dimShare = owShare;
+            }
+        }
+
+        YSelectionOverride o = Y_OVERRIDE_TL.get();
+        if (o != null && o.mode != null) {
+            dimMode = switch (o.mode) {
+                case "random_only" -> DimYMode.RANDOM_ONLY;
+                case "mixed" -> DimYMode.MIXED;
+                default -> DimYMode.HIGHEST_ONLY;
+            };
+            if (dimMode == DimYMode.MIXED) {
+                if (o.first != null) {
+                    dimFirst = "random".equals(o.first) ? MixedFirstGroup.RANDOM : MixedFirstGroup.HIGHEST;
+                }
+                if (o.firstShare != null) {
+                    dimShare = Math.max(0.0, Math.min(1.0, o.firstShare));
+                }
+            }
+        }
+
+        if (dimMode != DimYMode.MIXED) return dimMode == DimYMode.HIGHEST_ONLY;
+        boolean firstGroup = ThreadLocalRandom.current().nextDouble() < dimShare;
+        return firstGroup == (dimFirst == MixedFirstGroup.HIGHEST);
+    }
+
+    /**
+     * Single random-Y attempt; the caller's Y override is restored afterwards.
+     */
+    private static @Nullable Location attemptRandomYInAreaOnce(World world,
+                                                               double minX, double maxX,
+                                                               double minY, double maxY,
+                                                               double minZ, double maxZ,
+                                                               Set<Material> groundWhitelist) {
+        YSelectionOverride prev = Y_OVERRIDE_TL.get();
+        Y_OVERRIDE_TL.set(RANDOM_Y);
+        try {
+            return attemptSafeInAreaOnce(world, minX, maxX, minY, maxY, minZ, maxZ, groundWhitelist);
+        } finally {
+            if (prev != null) Y_OVERRIDE_TL.set(prev);
+            else Y_OVERRIDE_TL.remove();
+        }
+    }
+
+    /**
+     * Evaluates every column of a (chunk-clipped) area in one pass: ground is the (cached) heightmap top block,
+     * feet/head are the two blocks above it. Picks a random safe column whose feet Y is inside [minY, maxY]
+     * and that passes accept. When no surface lies inside [minY, maxY] (underground ranges), one random-Y
+     * attempt is made instead.
+     */
+    public static @Nullable Location scanSafeColumnsOnce(World world,
+                                                         double minX, double maxX,
+                                                         double minY, double maxY,
+                                                         double minZ, double maxZ,
+                                                         Set<Material> groundWhitelist,
+                                                         @Nullable Predicate<Location> accept) {
+        totalSearches.incrementAndGet();
+
+        int bx1 = (int) Math.floor(Math.min(minX, maxX));
+        int bx2 = (int) Math.floor(Math.max(minX, maxX));
+        int bz1 = (int) Math.floor(Math.min(minZ, maxZ));
+        int bz2 = (int) Math.floor(Math.max(minZ, maxZ));
+        double yLo = Math.min(minY, maxY);
+        double yHi = Math.max(minY, maxY);
+        int worldTop = world.getMaxHeight();
+
+        // Safe columns packed as (x, feetY, z) triples
+        int[] safe = new int[Math.min(MAX_SCAN_COLUMNS, (bx2 - bx1 + 1) * (bz2 - bz1 + 1)) * 3];
+        int n = 0;
+        boolean surfaceInRange = false;
+
+        for (int x = bx1; x <= bx2; x++) {
+            for (int z = bz1; z <= bz2; z++) {
+                int groundY = HeightmapCache.highestBlockY(world, x, z);
+                int feetY = groundY + 1;
+                if (feetY < yLo || feetY > yHi) continue;
+                surfaceInRange = true;
+                if (feetY + 1 >= worldTop) continue;
+
+                Material ground = world.getBlockAt(x, groundY, z).getType();
+                if (!isGroundMaterialAllowed(ground, groundWhitelist)) continue;
+                if (!isPassableSafe(world.getBlockAt(x, feetY, z))) continue;
+                if (!isPassableSafe(world.getBlockAt(x, feetY + 1, z))) continue;
+
+                if (n + 3 > safe.length) break;
+                safe[n++] = x;
+                safe[n++] = feetY;
+                safe[n++] = z;
+            }
+        }
+        if (!surfaceInRange) {
+            return attemptRandomYInAreaOnce(world, minX, maxX, minY, maxY, minZ, maxZ, groundWhitelist);
+        }
+
+        // Random pick; candidates rejected by accept are swap-removed
+        int count = n / 3;
+        while (count > 0) {
+            int i = ThreadLocalRandom.current().nextInt(count) * 3;
+            Location loc = new Location(world, safe[i] + 0.5, safe[i + 1], safe[i + 2] + 0.5);
+            if (accept == null || accept.test(loc)) {
+                return loc;
+            }
+            count--;
+            int last = count * 3;
+            safe[i] = safe[last];
+            safe[i + 1] = safe[last + 1];
+            safe[i + 2] = safe[last + 2];
+        }
         return null;
     }
 
     // --------------- Snapshot ----------------
 
     public static final class SafeLocationFinderExports {
+        /**
+         * Totals across all type caches; expirySeconds/maxSize are the defaults for tags without their own settings.
+         */
         public record Snapshot(long searches, long hits, long misses, int size, boolean enabled, long expirySeconds,
-                               int maxSize) {
+                               int maxSize, long blockInvalidations, List<TypeSnapshot> types) {
+        }
+
+        /**
+         * @param avgLoadMillis average duration of the fresh search run on a miss
+         */
+        public record TypeSnapshot(String tag, long hits, long misses, double hitRatePercent, long evictions, int size,
+                                   int maxSize, long expirySeconds, double avgLoadMillis) {
         }
 
         public static Snapshot snapshot() {
-            CacheStats s = (CACHE != null) ? CACHE.stats() : CacheStats.empty();
-            int size = (CACHE != null) ? CACHE.asMap().size() : 0;
+            long hits = 0;
+            long misses = 0;
+            int size = 0;
+            List<TypeSnapshot> types = new ArrayList<>();
+            for (TypeCache t : allCaches()) {
+                long h = t.hits.get();
+                long m = t.misses.get();
+                int n = t.cache.asMap().size();
+                hits += h;
+                misses += m;
+                size += n;
+
+                long loads = t.loads.get();
+                types.add(new TypeSnapshot(
+                        t.tag,
+                        h,
+                        m,
+                        (h + m) > 0 ? h * 100.0 / (h + m) : 0.0,
+                        t.cache.stats().evictionCount(),
+                        n,
+                        t.maxSize,
+                        t.expiryMs / 1000L,
+                        loads > 0 ? (t.loadNanos.get() / 1_000_000.0) / loads : 0.0
+                ));
+            }
             return new Snapshot(
                     totalSearches.get(),
-                    s.hitCount(),
-                    s.missCount(),
+                    hits,
+                    misses,
                     size,
                     cacheEnabled,
                     cacheExpiry / 1000L,
-                    maxCacheSize
+                    maxCacheSize,
+                    blockInvalidations.get(),
+                    types
             );
         }
     }
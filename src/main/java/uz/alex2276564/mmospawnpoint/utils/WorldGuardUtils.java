@@ -8,6 +8,7 @@ import com.sk89q.worldguard.protection.regions.RegionContainer;
 import com.sk89q.worldguard.protection.regions.RegionQuery;
 import lombok.experimental.UtilityClass;
 import org.bukkit.Location;
+import org.bukkit.World;
 import uz.alex2276564.mmospawnpoint.MMOSpawnPoint;
 
 import java.util.HashSet;
@@ -17,17 +18,45 @@ import java.util.logging.Level;
 @UtilityClass
 public class WorldGuardUtils {
 
+    /**
+     * Region ids at the location (immutable). Served from RegionLookupCache when enabled;
+     * region edits show up once the cached entry expires.
+     */
     public static Set<String> getRegionsAt(Location location) {
-        Set<String> regions = new HashSet<>();
+        World world = location.getWorld();
+        if (world == null || !RegionLookupCache.isEnabled()) {
+            Set<String> regions = queryRegions(location);
+            return regions != null ? regions : Set.of();
+        }
+
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+
+        Set<String> cached = RegionLookupCache.get(world.getUID(), x, y, z);
+        if (cached != null) return cached;
+
+        Set<String> regions = queryRegions(location);
+        if (regions == null) return Set.of(); // failed queries are not cached
+        RegionLookupCache.put(world.getUID(), x, y, z, regions);
+        return regions;
+    }
 
+    /**
+     * @return immutable region ids, or null if the query failed
+     */
+    private static Set<String> queryRegions(Location location) {
         try {
             RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
             RegionQuery query = container.createQuery();
             ApplicableRegionSet set = query.getApplicableRegions(BukkitAdapter.adapt(location));
+            if (set.size() == 0) return Set.of();
 
+            Set<String> regions = new HashSet<>();
             for (ProtectedRegion region : set) {
                 regions.add(region.getId());
             }
+            return Set.copyOf(regions);
         } catch (Exception e) {
             MMOSpawnPoint plugin = MMOSpawnPoint.getInstance();
             if (plugin != null) {
@@ -52,8 +81,7 @@ public class WorldGuardUtils {
                     );
                 }
             }
+            return null;
         }
-
-        return regions;
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DestinationPlan.Geometry")
+class DestinationPlanTest {
+
+    private static final Rect AREA = Rect.of(0, 20, 0, 255, 0, 20);
+
+    private static DestinationPlan.Geometry geometry(List<Rect> configured, List<Rect> exclude) {
+        return DestinationPlan.Geometry.of(null, configured, exclude);
+    }
+
+    private static boolean insideAny(List<Rect> rects, double x, double y, double z) {
+        for (Rect r : rects) {
+            if (r.contains(x, y, z)) return true;
+        }
+        return false;
+    }
+
+    @Test
+    @DisplayName("Drops only the touched edge for an exclusion sharing the area's border")
+    void exclusionTouchingEdge() {
+        Rect exclude = Rect.of(20, 30, 0, 255, 0, 20);
+        DestinationPlan.Geometry g = geometry(List.of(AREA), List.of(exclude));
+
+        assertFalse(g.isEmpty());
+        assertEquals(1, g.include().size());
+        Rect piece = g.include().get(0);
+        assertEquals(Math.nextDown(20.0), piece.maxX());
+        assertEquals(20 * 21, g.cumulativeColumns()[0]);
+        for (int i = 0; i < 1000; i++) {
+            Rect picked = g.pick();
+            assertSame(piece, picked);
+            assertFalse(exclude.contains(picked.randomX(), 100, picked.randomZ()));
+        }
+    }
+
+    @Test
+    @DisplayName("Leaves an empty geometry when an exclusion covers the area")
+    void fullyCoveringExclusion() {
+        DestinationPlan.Geometry g = geometry(List.of(AREA), List.of(Rect.of(-5, 25, -64, 320, -5, 25)));
+
+        assertTrue(g.isEmpty());
+        assertEquals(0, g.cumulativeColumns().length);
+        assertNull(g.pick());
+    }
+
+    @Test
+    @DisplayName("Subtracts overlapping exclusions into disjoint boxes")
+    void overlappingExclusions() {
+        List<Rect> exclude = List.of(
+                Rect.of(2, 10, 0, 255, 2, 10),
+                Rect.of(6, 14, 0, 255, 6, 14)
+        );
+        DestinationPlan.Geometry g = geometry(List.of(AREA), exclude);
+
+        assertFalse(g.isEmpty());
+        for (double x = 0; x <= 20; x += 0.5) {
+            for (double z = 0; z <= 20; z += 0.5) {
+                int containing = 0;
+                for (Rect piece : g.include()) {
+                    if (piece.contains(x, 100, z)) containing++;
+                }
+                int expected = insideAny(exclude, x, 100, z) ? 0 : 1;
+                assertEquals(expected, containing, "x=" + x + " z=" + z);
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            Rect picked = g.pick();
+            assertNotNull(picked);
+            assertFalse(insideAny(exclude, picked.randomX(), 100, picked.randomZ()));
+        }
+    }
+
+    @Test
+    @DisplayName("Keeps a partial-height exclusion as a runtime check")
+    void partialHeightExclusion() {
+        Rect exclude = Rect.of(-5, 25, 60, 80, -5, 25);
+        DestinationPlan.Geometry g = geometry(List.of(AREA), List.of(exclude));
+
+        assertFalse(g.isEmpty());
+        assertEquals(List.of(AREA), g.include());
+        assertEquals(List.of(exclude), g.exclude());
+        assertSame(AREA, g.pick());
+    }
+}
@@ -0,0 +1,172 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import uz.alex2276564.mmospawnpoint.config.configs.spawnpointsconfig.SpawnPointsConfig;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DestinationSampler")
+class DestinationSamplerTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private static SpawnPointsConfig.Destination destination(int weight) {
+        SpawnPointsConfig.Destination d = new SpawnPointsConfig.Destination();
+        d.weight = weight;
+        return d;
+    }
+
+    private static List<SpawnPointsConfig.Destination> destinations(int... weights) {
+        List<SpawnPointsConfig.Destination> out = new ArrayList<>();
+        for (int w : weights) {
+            out.add(destination(w));
+        }
+        return out;
+    }
+
+    // Identity keys: destinations with equal fields are still different options
+    private static Map<SpawnPointsConfig.Destination, Integer> countPicks(DestinationSampler sampler) {
+        Map<SpawnPointsConfig.Destination, Integer> counts = new IdentityHashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            SpawnPointsConfig.Destination picked = sampler.sample();
+            assertNotNull(picked);
+            counts.merge(picked, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Nested
+    @DisplayName("Static lists (alias table)")
+    class StaticLists {
+
+        @Test
+        @DisplayName("Never picks zero-weight options")
+        void neverPicksZeroWeightOptions() {
+            List<SpawnPointsConfig.Destination> options = destinations(0, 5, 0, 3, 0);
+            DestinationSampler sampler = DestinationSampler.compile(options);
+            assertFalse(sampler.isDynamic());
+
+            Map<SpawnPointsConfig.Destination, Integer> counts = countPicks(sampler);
+
+            assertNull(counts.get(options.get(0)));
+            assertNull(counts.get(options.get(2)));
+            assertNull(counts.get(options.get(4)));
+        }
+
+        @Test
+        @DisplayName("Picks options roughly in proportion to their weights")
+        void distributionMatchesWeights() {
+            int[] weights = {1, 3, 6, 10};
+            List<SpawnPointsConfig.Destination> options = destinations(weights);
+            DestinationSampler sampler = DestinationSampler.compile(options);
+
+            Map<SpawnPointsConfig.Destination, Integer> counts = countPicks(sampler);
+
+            for (int i = 0; i < weights.length; i++) {
+                double expected = weights[i] / 20.0;
+                double actual = counts.getOrDefault(options.get(i), 0) / (double) SAMPLES;
+                assertEquals(expected, actual, 0.01, "share of option " + i);
+            }
+        }
+
+        @Test
+        @DisplayName("Returns null when all weights are zero")
+        void returnsNullWhenAllWeightsAreZero() {
+            DestinationSampler sampler = DestinationSampler.compile(destinations(0, 0, 0));
+
+            assertNull(sampler.sample());
+        }
+
+        @Test
+        @DisplayName("Always picks the only option with a positive weight")
+        void alwaysPicksSinglePositiveWeight() {
+            List<SpawnPointsConfig.Destination> options = destinations(0, 7, 0);
+            DestinationSampler sampler = DestinationSampler.compile(options);
+
+            for (int i = 0; i < 10_000; i++) {
+                assertSame(options.get(1), sampler.sample());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Effective weights (cumulative scan)")
+    class EffectiveWeights {
+
+        private List<SpawnPointsConfig.Destination> dynamicDestinations(int... weights) {
+            List<SpawnPointsConfig.Destination> options = destinations(weights);
+            options.get(0).weightConditions.add(new SpawnPointsConfig.WeightConditionEntry());
+            return options;
+        }
+
+        @Test
+        @DisplayName("Treats lists with weight conditions as dynamic")
+        void weightConditionsMakeListDynamic() {
+            DestinationSampler sampler = DestinationSampler.compile(dynamicDestinations(2, 3));
+
+            assertTrue(sampler.isDynamic());
+            assertEquals(2, sampler.baseWeights()[0]);
+            assertEquals(3, sampler.baseWeights()[1]);
+        }
+
+        @Test
+        @DisplayName("Picks options of a dynamic list in proportion to the given weights")
+        void dynamicDistributionMatchesGivenWeights() {
+            List<SpawnPointsConfig.Destination> options = dynamicDestinations(1, 1, 1);
+            DestinationSampler sampler = DestinationSampler.compile(options);
+            int[] effective = {0, 1, 3};
+
+            Map<SpawnPointsConfig.Destination, Integer> counts = new IdentityHashMap<>();
+            for (int i = 0; i < SAMPLES; i++) {
+                counts.merge(sampler.sample(effective), 1, Integer::sum);
+            }
+
+            assertNull(counts.get(options.get(0)));
+            assertEquals(0.25, counts.get(options.get(1)) / (double) SAMPLES, 0.01);
+            assertEquals(0.75, counts.get(options.get(2)) / (double) SAMPLES, 0.01);
+        }
+
+        @Test
+        @DisplayName("Falls back to base weights when a dynamic list is sampled without effective weights")
+        void dynamicSampleUsesBaseWeights() {
+            List<SpawnPointsConfig.Destination> options = dynamicDestinations(0, 4);
+            DestinationSampler sampler = DestinationSampler.compile(options);
+
+            for (int i = 0; i < 10_000; i++) {
+                assertSame(options.get(1), sampler.sample());
+            }
+            assertNull(DestinationSampler.compile(dynamicDestinations(0, 0)).sample());
+        }
+
+        @Test
+        @DisplayName("Never picks options whose effective weight is zero")
+        void neverPicksZeroEffectiveWeight() {
+            List<SpawnPointsConfig.Destination> options = destinations(5, 5, 5);
+            DestinationSampler sampler = DestinationSampler.compile(options);
+
+            for (int i = 0; i < 10_000; i++) {
+                assertSame(options.get(1), sampler.sample(new int[]{0, 4, 0}));
+            }
+        }
+
+        @Test
+        @DisplayName("Returns null when all effective weights are zero")
+        void returnsNullWhenAllEffectiveWeightsAreZero() {
+            DestinationSampler sampler = DestinationSampler.compile(destinations(5, 5));
+
+            assertNull(sampler.sample(new int[]{0, 0}));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package uz.alex2276564.mmospawnpoint.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Rect.subtractXZ")
+class RectTest {
+
+    private static final Rect AREA = Rect.of(0, 10, 60, 80, 0, 10);
+
+    private static List<Rect> subtract(Rect rect, Rect cutter) {
+        List<Rect> out = new ArrayList<>();
+        rect.subtractXZ(cutter, out);
+        return out;
+    }
+
+    private static int piecesContaining(List<Rect> pieces, double x, double y, double z) {
+        int n = 0;
+        for (Rect piece : pieces) {
+            if (piece.contains(x, y, z)) n++;
+        }
+        return n;
+    }
+
+    @Test
+    @DisplayName("Keeps the box when the cutter does not touch it")
+    void keepsBoxWhenDisjoint() {
+        List<Rect> pieces = subtract(AREA, Rect.of(11, 20, 0, 255, 0, 10));
+
+        assertEquals(1, pieces.size());
+        assertSame(AREA, pieces.get(0));
+    }
+
+    @Test
+    @DisplayName("Removes only the shared edge when the cutter touches it")
+    void removesOnlySharedEdge() {
+        List<Rect> pieces = subtract(AREA, Rect.of(10, 20, 0, 255, -5, 15));
+
+        assertEquals(1, pieces.size());
+        Rect piece = pieces.get(0);
+        assertEquals(0, piece.minX());
+        assertEquals(Math.nextDown(10.0), piece.maxX());
+        assertEquals(AREA.minZ(), piece.minZ());
+        assertEquals(AREA.maxZ(), piece.maxZ());
+        assertFalse(piece.contains(10, 70, 5));
+        assertTrue(piece.contains(9.999, 70, 5));
+    }
+
+    @Test
+    @DisplayName("Leaves nothing when the cutter covers the box")
+    void leavesNothingWhenCovered() {
+        assertTrue(subtract(AREA, Rect.of(-1, 11, 0, 255, -1, 11)).isEmpty());
+        assertTrue(subtract(AREA, AREA).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Splits around an inner cutter into disjoint pieces keeping the Y range")
+    void splitsAroundInnerCutter() {
+        Rect cutter = Rect.of(3, 6, 0, 255, 4, 7);
+        List<Rect> pieces = subtract(AREA, cutter);
+
+        assertEquals(4, pieces.size());
+        for (Rect piece : pieces) {
+            assertEquals(AREA.minY(), piece.minY());
+            assertEquals(AREA.maxY(), piece.maxY());
+        }
+        for (double x = 0; x <= 10; x += 0.5) {
+            for (double z = 0; z <= 10; z += 0.5) {
+                int expected = cutter.contains(x, 70, z) ? 0 : 1;
+                assertEquals(expected, piecesContaining(pieces, x, 70, z), "x=" + x + " z=" + z);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -197,6 +198,92 @@ class PlaceholderUtilsExpressionEngineTest {
         }
     }
 
+    @Nested
+    @DisplayName("Short-circuit evaluation")
+    class ShortCircuitTests {
+
+        private Function<String, String> recording(Map<String, String> values, List<String> resolved) {
+            return key -> {
+                resolved.add(key);
+                return values.getOrDefault(key, key);
+            };
+        }
+
+        @Test
+        @DisplayName("Skips the right operand of || when the left one is true")
+        void skipsRightOperandOfOrWhenLeftIsTrue() {
+            List<String> resolved = new ArrayList<>();
+            Map<String, String> values = Map.of("%a%", "true", "%b%", "false");
+
+            assertTrue(engine.evaluate("%a% || %b%", recording(values, resolved)));
+            assertEquals(List.of("%a%"), resolved);
+        }
+
+        @Test
+        @DisplayName("Skips the right operand of && when the left one is false")
+        void skipsRightOperandOfAndWhenLeftIsFalse() {
+            List<String> resolved = new ArrayList<>();
+            Map<String, String> values = Map.of("%level%", "5", "%rank%", "VIP");
+
+            assertFalse(engine.evaluate("%level% > 10 && %rank% == 'VIP'", recording(values, resolved)));
+            assertEquals(List.of("%level%"), resolved);
+        }
+
+        @Test
+        @DisplayName("Skips whole subexpressions once the result is decided")
+        void skipsWholeSubexpressions() {
+            List<String> resolved = new ArrayList<>();
+            Map<String, String> values = Map.of("%vip%", "true");
+
+            assertTrue(engine.evaluate("%vip% || (%x% > 1 && !%y%)", recording(values, resolved)));
+            assertEquals(List.of("%vip%"), resolved);
+        }
+
+        @Test
+        @DisplayName("Resolves the right operand when the left one does not decide")
+        void resolvesRightOperandWhenNeeded() {
+            List<String> resolved = new ArrayList<>();
+            Map<String, String> values = Map.of("%a%", "false", "%b%", "true");
+
+            assertTrue(engine.evaluate("%a% || %b%", recording(values, resolved)));
+            assertEquals(List.of("%a%", "%b%"), resolved);
+        }
+
+        @Test
+        @DisplayName("Compiled expressions can be evaluated repeatedly with different resolvers")
+        void compiledExpressionsAreReusable() {
+            PlaceholderUtils.ExpressionEngine.CompiledExpression compiled = engine.compile("%level% >= 10");
+
+            assertTrue(compiled.evaluate(key -> "15"));
+            assertFalse(compiled.evaluate(key -> "3"));
+        }
+
+        @Test
+        @DisplayName("Detects single-variable expressions at compile time")
+        void detectsSingleVariableExpressions() {
+            PlaceholderUtils.ExpressionEngine.CompiledExpression plain = engine.compile("mmospawnpoint.vip");
+            assertEquals("mmospawnpoint.vip", plain.singleVariable());
+            assertFalse(plain.isNegated());
+
+            PlaceholderUtils.ExpressionEngine.CompiledExpression negated = engine.compile("!(mmospawnpoint.banned)");
+            assertEquals("mmospawnpoint.banned", negated.singleVariable());
+            assertTrue(negated.isNegated());
+
+            assertNull(engine.compile("!!mmospawnpoint.vip").singleVariable());
+            assertNull(engine.compile("a && b").singleVariable());
+            assertNull(engine.compile("true").singleVariable());
+            assertNull(engine.compile("'quoted'").singleVariable());
+        }
+
+        @Test
+        @DisplayName("Rejects expressions with missing operands at compile time")
+        void rejectsMissingOperandsAtCompileTime() {
+            assertThrows(IllegalArgumentException.class, () -> engine.compile("true &&"));
+            assertThrows(IllegalArgumentException.class, () -> engine.compile("!"));
+            assertThrows(IllegalArgumentException.class, () -> engine.compile("true false"));
+        }
+    }
+
     @Nested
     @DisplayName("Validation")
     class ValidationTests {
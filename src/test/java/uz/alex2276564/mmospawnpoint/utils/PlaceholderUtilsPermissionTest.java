@@ -71,4 +71,38 @@ class PlaceholderUtilsPermissionTest {
         assertFalse(PlaceholderUtils.evaluatePermissionExpression(player, "", false));
         assertFalse(PlaceholderUtils.evaluatePermissionExpression(player, "   ", false));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Stops checking permissions once the result is decided")
+    void stopsCheckingPermissionsOnceDecided() {
+        Player player = mock(Player.class);
+        when(player.hasPermission("mmospawnpoint.admin")).thenReturn(true);
+        when(player.hasPermission("mmospawnpoint.guest")).thenReturn(false);
+
+        assertTrue(PlaceholderUtils.evaluatePermissionExpression(
+                player,
+                "mmospawnpoint.admin || mmospawnpoint.vip",
+                false
+        ));
+        assertFalse(PlaceholderUtils.evaluatePermissionExpression(
+                player,
+                "mmospawnpoint.guest && mmospawnpoint.vip",
+                false
+        ));
+
+        verify(player, never()).hasPermission("mmospawnpoint.vip");
+    }
+
+    @Test
+    @DisplayName("Evaluates single and negated nodes with one permission check")
+    void evaluatesSingleAndNegatedNodesDirectly() {
+        Player player = mock(Player.class);
+        when(player.hasPermission("mmospawnpoint.banned")).thenReturn(false);
+
+        assertTrue(PlaceholderUtils.evaluatePermissionExpression(player, "!mmospawnpoint.banned", false));
+        assertFalse(PlaceholderUtils.evaluatePermissionExpression(player, "mmospawnpoint.banned", false));
+
+        verify(player, times(2)).hasPermission("mmospawnpoint.banned");
+        verifyNoMoreInteractions(player);
+    }
+}
@@ -6,9 +6,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.*;
 
 @DisplayName("PlaceholderUtils PlaceholderAPI integration")
 class PlaceholderUtilsPlaceholderApiTest {
@@ -95,4 +98,58 @@ class PlaceholderUtilsPlaceholderApiTest {
             assertFalse(PlaceholderUtils.checkPlaceholderCondition(player, expression));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("checkPlaceholderCondition does not resolve placeholders after || is decided")
+    void checkPlaceholderConditionShortCircuitsOr() {
+        Player player = mock(Player.class);
+        String expression = "%player_gamemode% == 'SURVIVAL' || %vault_eco_balance% > 1000";
+
+        try (MockedStatic<PlaceholderAPI> placeholderApi = mockStatic(PlaceholderAPI.class)) {
+            placeholderApi.when(() -> PlaceholderAPI.setPlaceholders(player, "%player_gamemode%"))
+                    .thenReturn("SURVIVAL");
+
+            assertTrue(PlaceholderUtils.checkPlaceholderCondition(player, expression));
+
+            placeholderApi.verify(() -> PlaceholderAPI.setPlaceholders(player, "%player_gamemode%"), times(1));
+            placeholderApi.verify(() -> PlaceholderAPI.setPlaceholders(player, "%vault_eco_balance%"), never());
+        }
+    }
+
+    @Test
+    @DisplayName("checkPlaceholderCondition does not resolve placeholders after && is decided")
+    void checkPlaceholderConditionShortCircuitsAnd() {
+        Player player = mock(Player.class);
+        String expression = "%player_level% >= 50 && %vault_eco_balance% > 1000";
+
+        try (MockedStatic<PlaceholderAPI> placeholderApi = mockStatic(PlaceholderAPI.class)) {
+            placeholderApi.when(() -> PlaceholderAPI.setPlaceholders(player, "%player_level%"))
+                    .thenReturn("12");
+
+            assertFalse(PlaceholderUtils.checkPlaceholderCondition(player, expression));
+
+            placeholderApi.verify(() -> PlaceholderAPI.setPlaceholders(player, "%player_level%"), times(1));
+            placeholderApi.verify(() -> PlaceholderAPI.setPlaceholders(player, "%vault_eco_balance%"), never());
+        }
+    }
+
+    @Test
+    @DisplayName("checkPlaceholderCondition uses caller-supplied placeholder values")
+    void checkPlaceholderConditionUsesSuppliedValues() {
+        Map<String, String> values = Map.of("%player_level%", "30", "%player_world%", "dungeon");
+        List<String> requested = new ArrayList<>();
+
+        try (MockedStatic<PlaceholderAPI> placeholderApi = mockStatic(PlaceholderAPI.class)) {
+            assertTrue(PlaceholderUtils.checkPlaceholderCondition(
+                    "%player_level% > 20 && %player_world% == 'dungeon'",
+                    key -> {
+                        requested.add(key);
+                        return values.get(key);
+                    }
+            ));
+
+            assertEquals(List.of("%player_level%", "%player_world%"), requested);
+            placeholderApi.verifyNoInteractions();
+        }
+    }
+}
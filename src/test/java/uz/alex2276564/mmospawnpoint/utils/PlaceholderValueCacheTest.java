@@ -0,0 +1,87 @@
+package uz.alex2276564.mmospawnpoint.utils;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PlaceholderValueCache")
+class PlaceholderValueCacheTest {
+
+    private final List<String> loaded = new ArrayList<>();
+    private final BiFunction<Player, String, String> loader = (player, placeholder) -> {
+        loaded.add(placeholder);
+        return "42";
+    };
+
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        PlaceholderValueCache.configure(true, 1000, Map.of("%player_level%", 60));
+    }
+
+    @AfterEach
+    void tearDown() {
+        PlaceholderValueCache.configure(false, 1000, Map.of());
+    }
+
+    @Test
+    @DisplayName("Resolves an opted-in placeholder once within its TTL")
+    void resolvesOptedInPlaceholderOnce() {
+        assertEquals("42", PlaceholderValueCache.resolve(player, "%player_level%", loader));
+        assertEquals("42", PlaceholderValueCache.resolve(player, "%player_level%", loader));
+
+        assertEquals(List.of("%player_level%"), loaded);
+    }
+
+    @Test
+    @DisplayName("Always resolves placeholders without a TTL")
+    void alwaysResolvesPlaceholdersWithoutTtl() {
+        PlaceholderValueCache.resolve(player, "%player_health%", loader);
+        PlaceholderValueCache.resolve(player, "%player_health%", loader);
+
+        assertEquals(List.of("%player_health%", "%player_health%"), loaded);
+    }
+
+    @Test
+    @DisplayName("Keeps values separate per player and drops them on clearPlayer")
+    void keepsValuesPerPlayerAndDropsThemOnClear() {
+        Player other = mock(Player.class);
+        when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+
+        PlaceholderValueCache.resolve(player, "%player_level%", loader);
+        PlaceholderValueCache.resolve(other, "%player_level%", loader);
+        assertEquals(2, loaded.size());
+
+        PlaceholderValueCache.clearPlayer(player.getUniqueId());
+        PlaceholderValueCache.resolve(player, "%player_level%", loader);
+        PlaceholderValueCache.resolve(other, "%player_level%", loader);
+
+        assertEquals(3, loaded.size());
+    }
+
+    @Test
+    @DisplayName("Resolves directly when disabled")
+    void resolvesDirectlyWhenDisabled() {
+        PlaceholderValueCache.configure(false, 1000, Map.of("%player_level%", 60));
+
+        PlaceholderValueCache.resolve(player, "%player_level%", loader);
+        PlaceholderValueCache.resolve(player, "%player_level%", loader);
+
+        assertEquals(2, loaded.size());
+    }
+}
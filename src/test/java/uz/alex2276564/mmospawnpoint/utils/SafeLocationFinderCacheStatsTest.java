@@ -0,0 +1,106 @@
+package uz.alex2276564.mmospawnpoint.utils;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SafeLocationFinder per-type cache stats")
+class SafeLocationFinderCacheStatsTest {
+
+    private static final String TYPE = "DEATH";
+    private static final int GROUND_Y = 63;
+
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        world = mock(World.class);
+        when(world.getName()).thenReturn("stats_world_" + UUID.randomUUID());
+        when(world.getEnvironment()).thenReturn(World.Environment.NORMAL);
+        when(world.getMaxHeight()).thenReturn(256);
+        when(world.getHighestBlockYAt(anyInt(), anyInt())).thenReturn(GROUND_Y);
+
+        Block air = mock(Block.class);
+        when(air.getType()).thenReturn(Material.AIR);
+        when(air.isPassable()).thenReturn(true);
+        Block ground = mock(Block.class);
+        when(ground.getType()).thenReturn(Material.STONE);
+        when(world.getBlockAt(anyInt(), anyInt(), anyInt())).thenReturn(air);
+        when(world.getBlockAt(anyInt(), eq(GROUND_Y), anyInt())).thenReturn(ground);
+
+        // Surface-only Y selection: every attempt is a one-column heightmap scan
+        SafeLocationFinder.configureOverworldYSelection("highest_only", "highest", 0.6);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SafeLocationFinder.configureOverworldYSelection("mixed", "highest", 0.6);
+        SafeLocationFinder.configureCaching(true, 300000, 1000, 4, false, true, List.of());
+    }
+
+    private static void configurePerKey(int perKey) {
+        SafeLocationFinder.configureCaching(true, 60000, 100, perKey, false, false,
+                List.of(new SafeLocationFinder.TypeCacheSettings(TYPE, 60000, 100)));
+    }
+
+    private Location lookup() {
+        return SafeLocationFinder.cachedFindSafeInAreaValidated(world,
+                0, 0, 60, 80, 0, 0,
+                SafeLocationFinder.GroundWhitelist.NONE,
+                UUID.randomUUID(), false, true, TYPE, null);
+    }
+
+    private static SafeLocationFinder.SafeLocationFinderExports.TypeSnapshot typeStats() {
+        return SafeLocationFinder.SafeLocationFinderExports.snapshot().types().stream()
+                .filter(t -> TYPE.equals(t.tag()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Counts the fill as a miss and every served spot as one hit")
+    void fillThenServe() {
+        configurePerKey(1);
+
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(lookup());
+        }
+
+        var stats = typeStats();
+        assertEquals(3, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(75.0, stats.hitRatePercent(), 0.001);
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    @DisplayName("Counts lookups on a ring that is still filling as misses")
+    void fillingRingIsNotAHit() {
+        // One-column area: the ring never gets a second distinct spot, so it keeps filling
+        configurePerKey(2);
+
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(lookup());
+        }
+
+        var stats = typeStats();
+        assertEquals(0, stats.hits());
+        assertEquals(3, stats.misses());
+        assertEquals(0.0, stats.hitRatePercent(), 0.001);
+    }
+}